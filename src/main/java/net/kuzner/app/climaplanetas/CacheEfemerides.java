@@ -0,0 +1,241 @@
+package net.kuzner.app.climaplanetas;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+/**
+ * Guarda las Efemérides de cada planeta para compartirlas entre escenarios
+ *
+ * Las Efemérides sólo dependen de la órbita del planeta, así que se
+ * identifican por su radio y su velocidad angular: planetas con otro nombre y
+ * la misma órbita comparten la serie. El tamaño se limita por la cantidad total de días guardados
+ * (cada día ocupa tres {@code double}); cuando se supera, se descartan las
+ * Efemérides usadas menos recientemente.
+ *
+ * Las Efemérides se calculan fuera del bloqueo de la caché: los pedidos de
+ * otros planetas no esperan, y los pedidos simultáneos del mismo planeta
+ * esperan un único cálculo.
+ *
+ * @author Raul Kuzner
+ */
+@Component
+@Scope(value = ConfigurableBeanFactory.SCOPE_SINGLETON)
+public class CacheEfemerides {
+
+	private final Logger logger = Logger.getLogger(this.getClass().getName());
+
+	private final int maximoDias;
+
+	private final Map<Orbita, Entrada> entradaPorOrbita;
+
+	private long diasGuardados = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param maximoDias
+	 *            cantidad máxima de días de Efemérides que se guardan, sumando
+	 *            todos los planetas
+	 *
+	 * @throws IllegalArgumentException
+	 *             si {@code maximoDias} es cero o negativo
+	 */
+	public CacheEfemerides(@Value("${efemerides.cache.dias:1000000}") int maximoDias) {
+		if (maximoDias <= 0) {
+			throw new IllegalArgumentException("la cantidad máxima de días no puede ser cero o negativo");
+		}
+		this.maximoDias = maximoDias;
+		this.entradaPorOrbita = new LinkedHashMap<Orbita, Entrada>(16, 0.75f, true);
+	}
+
+	/**
+	 * Obtiene la cantidad máxima de días de Efemérides que se guardan, sumando
+	 * todos los planetas
+	 *
+	 * @return la cantidad máxima de días que se guardan
+	 */
+	public int getMaximoDias() {
+		return this.maximoDias;
+	}
+
+	/**
+	 * Obtiene las Efemérides de un planeta, calculándolas sólo si no estaban
+	 * guardadas o no cubren los días pedidos
+	 *
+	 * Si las Efemérides del planeta ocupan por sí solas más días que el máximo,
+	 * se calculan pero no se guardan.
+	 *
+	 * @param planeta
+	 *            el planeta cuyas Efemérides se desean
+	 * @param cuantosDias
+	 *            la cantidad de días que deben cubrir las Efemérides
+	 * @return las Efemérides del planeta
+	 *
+	 * @throws NullPointerException
+	 *             si {@code planeta} es null
+	 * @throws IllegalArgumentException
+	 *             si {@code cuantosDias} es cero o negativo
+	 */
+	public Efemerides obtener(Planeta planeta, int cuantosDias) {
+		Objects.requireNonNull(planeta, "falta el planeta");
+		if (cuantosDias <= 0) {
+			throw new IllegalArgumentException("la cantidad de días no puede ser cero o negativo");
+		}
+
+		Orbita orbita = new Orbita(planeta);
+		Entrada entrada;
+		boolean calcular = false;
+		synchronized (this.entradaPorOrbita) {
+			entrada = this.entradaPorOrbita.get(orbita);
+			if (Objects.isNull(entrada) || !entrada.cubre(cuantosDias)) {
+				entrada = new Entrada(planeta, cuantosDias);
+				calcular = true;
+				this.guardar(orbita, planeta, entrada);
+			}
+		}
+
+		// el cálculo se hace fuera del bloqueo; quien no lo inició espera el resultado
+		if (calcular) {
+			entrada.calculo.run();
+		}
+		try {
+			// la serie puede haberse calculado para otro planeta con la misma órbita
+			return entrada.calculo.get().paraPlaneta(planeta);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("se interrumpió el cálculo de las Efemérides", e);
+		} catch (ExecutionException e) {
+			this.descartar(orbita, entrada);
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("falló el cálculo de las Efemérides", e.getCause());
+		}
+	}
+
+	private void guardar(Orbita orbita, Planeta planeta, Entrada entrada) {
+		if (entrada.largo > this.maximoDias) {
+			if (this.logger.isLoggable(Level.FINE)) {
+				this.logger.fine(String.format("Las Efemérides de %s ocupan %d días: no se guardan",
+						planeta.getNombre(), entrada.largo));
+			}
+			return;
+		}
+
+		Entrada anterior = this.entradaPorOrbita.put(orbita, entrada);
+		if (Objects.nonNull(anterior)) {
+			this.diasGuardados -= anterior.largo;
+		}
+		this.diasGuardados += entrada.largo;
+
+		// la entrada nueva es la última del orden de acceso, así que no se descarta
+		Iterator<Map.Entry<Orbita, Entrada>> iterator = this.entradaPorOrbita.entrySet().iterator();
+		while (this.diasGuardados > this.maximoDias && iterator.hasNext()) {
+			Map.Entry<Orbita, Entrada> masAntigua = iterator.next();
+			if (this.logger.isLoggable(Level.FINE)) {
+				this.logger.fine(String.format("Descartando Efemérides de %s", masAntigua.getKey()));
+			}
+			this.diasGuardados -= masAntigua.getValue().largo;
+			iterator.remove();
+		}
+	}
+
+	private void descartar(Orbita orbita, Entrada entrada) {
+		synchronized (this.entradaPorOrbita) {
+			if (this.entradaPorOrbita.get(orbita) == entrada) {
+				this.entradaPorOrbita.remove(orbita);
+				this.diasGuardados -= entrada.largo;
+			}
+		}
+	}
+
+	/**
+	 * Obtiene la cantidad total de días de Efemérides guardados
+	 *
+	 * @return la cantidad total de días de Efemérides guardados
+	 */
+	long getDiasGuardados() {
+		synchronized (this.entradaPorOrbita) {
+			return this.diasGuardados;
+		}
+	}
+
+	/**
+	 * Efemérides de un planeta, guardadas antes de terminar de calcularse
+	 */
+	private static class Entrada {
+
+		private final FutureTask<Efemerides> calculo;
+		private final int cuantosDias;
+		private final int largo;
+
+		private Entrada(Planeta planeta, int cuantosDias) {
+			// el largo es el que tendrá la serie, para contarlo antes de calcularla
+			int periodo = planeta.calcularPeriodo();
+			this.calculo = new FutureTask<Efemerides>(() -> new Efemerides(planeta, cuantosDias));
+			this.cuantosDias = (periodo > 0) ? Integer.MAX_VALUE : cuantosDias;
+			this.largo = (periodo > 0) ? periodo : cuantosDias;
+		}
+
+		private boolean cubre(int cuantosDias) {
+			return cuantosDias <= this.cuantosDias;
+		}
+	}
+
+	/**
+	 * Órbita de un planeta: lo único de lo que dependen sus Efemérides
+	 */
+	private static final class Orbita {
+
+		private final double radioOrbita;
+		private final double velocidadAngular;
+
+		private Orbita(Planeta planeta) {
+			this.radioOrbita = planeta.getRadioOrbita();
+			this.velocidadAngular = planeta.getVelocidadAngular();
+		}
+
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			long temp;
+			temp = Double.doubleToLongBits(this.radioOrbita);
+			result = prime * result + (int) (temp ^ (temp >>> 32));
+			temp = Double.doubleToLongBits(this.velocidadAngular);
+			result = prime * result + (int) (temp ^ (temp >>> 32));
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Orbita)) {
+				return false;
+			}
+			Orbita other = (Orbita) obj;
+			return Double.doubleToLongBits(this.radioOrbita) == Double.doubleToLongBits(other.radioOrbita)
+					&& Double.doubleToLongBits(this.velocidadAngular) == Double
+							.doubleToLongBits(other.velocidadAngular);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Orbita [radioOrbita=%s, velocidadAngular=%s]", this.radioOrbita,
+					this.velocidadAngular);
+		}
+	}
+}
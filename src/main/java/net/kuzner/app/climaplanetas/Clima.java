@@ -0,0 +1,99 @@
+package net.kuzner.app.climaplanetas;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Climas posibles en el sistema solar FBV
+ *
+ * Cada clima tiene una descripción, que es la que se informa en los
+ * pronósticos, y un código de un byte para los formatos compactos. Los códigos
+ * no deben cambiar, ya que los consumidores del formato binario dependen de
+ * ellos.
+ *
+ * @author Raul Kuzner
+ */
+public enum Clima {
+
+	SEQUIA((byte) 1, "Sequía"),
+
+	LLUVIA((byte) 2, "Lluvia"),
+
+	TEMPERATURA_IDEAL((byte) 3, "Presión y temperatura ideal"),
+
+	ESTABLE((byte) 4, "Estable");
+
+	private static final Clima[] climaPorCodigo = new Clima[Byte.MAX_VALUE + 1];
+	private static final Map<String, Clima> climaPorDescripcionMap = new HashMap<String, Clima>();
+
+	static {
+		for (Clima clima : values()) {
+			climaPorCodigo[clima.codigo] = clima;
+			climaPorDescripcionMap.put(clima.descripcion, clima);
+		}
+	}
+
+	private final byte codigo;
+	private final String descripcion;
+
+	private Clima(byte codigo, String descripcion) {
+		this.codigo = codigo;
+		this.descripcion = descripcion;
+	}
+
+	/**
+	 * Obtiene el código de este Clima
+	 *
+	 * @return el código de este Clima
+	 */
+	public byte getCodigo() {
+		return this.codigo;
+	}
+
+	/**
+	 * Obtiene la descripción de este Clima
+	 *
+	 * @return la descripción de este Clima
+	 */
+	public String getDescripcion() {
+		return this.descripcion;
+	}
+
+	/**
+	 * Obtiene el Clima correspondiente a un código
+	 *
+	 * @param codigo
+	 *            el código del clima
+	 * @return el Clima correspondiente al código
+	 *
+	 * @throws IllegalArgumentException
+	 *             si el código no corresponde a ningún clima
+	 */
+	public static Clima desdeCodigo(byte codigo) {
+		Clima clima = (codigo > 0) ? climaPorCodigo[codigo] : null;
+		if (Objects.isNull(clima)) {
+			throw new IllegalArgumentException(String.format("el código %d no corresponde a ningún clima", codigo));
+		}
+		return clima;
+	}
+
+	/**
+	 * Obtiene el Clima correspondiente a una descripción
+	 *
+	 * @param descripcion
+	 *            la descripción del clima
+	 * @return el Clima correspondiente a la descripción
+	 *
+	 * @throws IllegalArgumentException
+	 *             si la descripción no corresponde a ningún clima
+	 */
+	public static Clima desdeDescripcion(String descripcion) {
+		Clima clima = climaPorDescripcionMap.get(descripcion);
+		if (Objects.isNull(clima)) {
+			throw new IllegalArgumentException(
+					String.format("la descripción '%s' no corresponde a ningún clima", descripcion));
+		}
+		return clima;
+	}
+}
@@ -0,0 +1,151 @@
+package net.kuzner.app.climaplanetas;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Codifica pronósticos en un formato binario compacto de ancho fijo
+ *
+ * El formato, en big-endian, es:
+ * <ul>
+ * <li>encabezado: {@code int} {@link #MAGICO}, {@code byte} {@link #VERSION},
+ * {@code int} cantidad de registros</li>
+ * <li>cada registro: {@code int} día, {@code byte} código de {@link Clima},
+ * {@code double} precipitación</li>
+ * </ul>
+ *
+ * @author Raul Kuzner
+ */
+public final class CodificadorPronosticos {
+
+	/**
+	 * tipo de contenido del formato binario
+	 */
+	public static final String MEDIA_TYPE = "application/vnd.clima-planetas.pronosticos";
+
+	/**
+	 * identificador del formato: "CLPR"
+	 */
+	public static final int MAGICO = 0x434C5052;
+
+	public static final byte VERSION = 1;
+
+	public static final int LARGO_ENCABEZADO = Integer.BYTES + Byte.BYTES + Integer.BYTES;
+
+	public static final int LARGO_REGISTRO = Integer.BYTES + Byte.BYTES + Double.BYTES;
+
+	private final ByteBuffer buffer;
+	private final int cuantos;
+	private int escritos = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param cuantos
+	 *            la cantidad exacta de pronósticos a codificar
+	 *
+	 * @throws IllegalArgumentException
+	 *             si {@code cuantos} es negativo o no entra en un arreglo
+	 */
+	public CodificadorPronosticos(int cuantos) {
+		if (cuantos < 0 || cuantos > (Integer.MAX_VALUE - LARGO_ENCABEZADO) / LARGO_REGISTRO) {
+			throw new IllegalArgumentException("cantidad de pronósticos fuera de rango");
+		}
+		this.cuantos = cuantos;
+		this.buffer = ByteBuffer.allocate(LARGO_ENCABEZADO + cuantos * LARGO_REGISTRO);
+		this.buffer.putInt(MAGICO).put(VERSION).putInt(cuantos);
+	}
+
+	/**
+	 * Agrega un registro
+	 *
+	 * @param dia
+	 *            el día del pronóstico
+	 * @param codigoClima
+	 *            el código del clima para ese día
+	 * @param precipitacion
+	 *            el nivel de precipitación para ese día
+	 * @return este codificador
+	 *
+	 * @throws IllegalStateException
+	 *             si ya se agregaron todos los registros
+	 */
+	public CodificadorPronosticos agregar(int dia, byte codigoClima, double precipitacion) {
+		if (this.escritos == this.cuantos) {
+			throw new IllegalStateException("ya se codificaron todos los pronósticos");
+		}
+		this.buffer.putInt(dia).put(codigoClima).putDouble(precipitacion);
+		this.escritos++;
+		return this;
+	}
+
+	/**
+	 * Agrega un pronóstico
+	 *
+	 * @param pronostico
+	 *            el pronóstico a agregar
+	 * @return este codificador
+	 *
+	 * @throws NullPointerException
+	 *             si {@code pronostico} es null
+	 * @throws IllegalArgumentException
+	 *             si el clima del pronóstico no es ninguno de {@link Clima}
+	 * @throws IllegalStateException
+	 *             si ya se agregaron todos los registros
+	 */
+	public CodificadorPronosticos agregar(Pronostico pronostico) {
+		Objects.requireNonNull(pronostico, "falta el pronóstico");
+		return this.agregar(pronostico.getDia(), Clima.desdeDescripcion(pronostico.getClima()).getCodigo(),
+				pronostico.getPrecipitacion());
+	}
+
+	/**
+	 * Obtiene los bytes codificados
+	 *
+	 * @return los bytes codificados
+	 *
+	 * @throws IllegalStateException
+	 *             si faltan registros por agregar
+	 */
+	public byte[] toByteArray() {
+		if (this.escritos != this.cuantos) {
+			throw new IllegalStateException(
+					String.format("se codificaron %d de %d pronósticos", this.escritos, this.cuantos));
+		}
+		return this.buffer.array();
+	}
+
+	/**
+	 * Decodifica pronósticos codificados en el formato binario
+	 *
+	 * @param bytes
+	 *            los bytes a decodificar
+	 * @return los pronósticos decodificados
+	 *
+	 * @throws NullPointerException
+	 *             si {@code bytes} es null
+	 * @throws IllegalArgumentException
+	 *             si los bytes no respetan el formato
+	 */
+	public static List<Pronostico> decodificar(byte[] bytes) {
+		Objects.requireNonNull(bytes, "faltan los bytes");
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		if (bytes.length < LARGO_ENCABEZADO || buffer.getInt() != MAGICO || buffer.get() != VERSION) {
+			throw new IllegalArgumentException("formato de pronósticos desconocido");
+		}
+		int cuantos = buffer.getInt();
+		if (cuantos < 0 || (long) cuantos * LARGO_REGISTRO != buffer.remaining()) {
+			throw new IllegalArgumentException("cantidad de pronósticos inconsistente");
+		}
+
+		List<Pronostico> pronosticoList = new ArrayList<Pronostico>(cuantos);
+		for (int i = 0; i < cuantos; i++) {
+			Pronostico pronostico = new Pronostico(buffer.getInt(), Clima.desdeCodigo(buffer.get()).getDescripcion());
+			pronostico.setPrecipitacion(buffer.getDouble());
+			pronosticoList.add(pronostico);
+		}
+		return pronosticoList;
+	}
+}
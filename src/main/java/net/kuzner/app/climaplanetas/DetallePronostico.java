@@ -0,0 +1,109 @@
+package net.kuzner.app.climaplanetas;
+
+import java.awt.geom.Point2D;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Detalle de un pronóstico del clima para el sistema solar FBV: los ángulos de
+ * cada planeta y las distancias entre ellos
+ *
+ * El detalle no se guarda en el {@link Pronostico}; se calcula a partir del día
+ * y los planetas sólo cuando se lo pide.
+ *
+ * @author Raul Kuzner
+ */
+public class DetallePronostico {
+
+	private final Pronostico pronostico;
+	private final Planeta planetaA;
+	private final Planeta planetaB;
+	private final Planeta planetaC;
+
+	/**
+	 * Constructor
+	 *
+	 * @param pronostico
+	 *            el pronóstico a detallar
+	 * @param planetaA
+	 *            uno de los planetas del sistema solar FBV
+	 * @param planetaB
+	 *            otro de los planetas del sistema solar FBV
+	 * @param planetaC
+	 *            otro más de los planetas del sistema solar FBV
+	 *
+	 * @throws NullPointerException
+	 *             si alguno de los parámetros es null
+	 */
+	public DetallePronostico(Pronostico pronostico, Planeta planetaA, Planeta planetaB, Planeta planetaC) {
+		this.pronostico = Objects.requireNonNull(pronostico, "falta el pronóstico");
+		this.planetaA = Objects.requireNonNull(planetaA, "falta el planetaA");
+		this.planetaB = Objects.requireNonNull(planetaB, "falta el planetaB");
+		this.planetaC = Objects.requireNonNull(planetaC, "falta el planetaC");
+	}
+
+	/**
+	 * Obtiene el día de este Detalle
+	 *
+	 * @return el día de este Detalle
+	 */
+	public int getDia() {
+		return this.pronostico.getDia();
+	}
+
+	/**
+	 * Obtiene el clima para este día
+	 *
+	 * @return el clima para este día
+	 */
+	public String getClima() {
+		return this.pronostico.getClima();
+	}
+
+	/**
+	 * Obtiene el nivel de precipitación para este día
+	 *
+	 * @return el nivel de precipitación para este día
+	 */
+	public double getPrecipitacion() {
+		return this.pronostico.getPrecipitacion();
+	}
+
+	/**
+	 * Calcula el ángulo de cada planeta para este día
+	 *
+	 * @return el ángulo [en grados] por nombre de planeta
+	 */
+	public Map<String, Double> getAnguloPorPlaneta() {
+		int queDia = this.pronostico.getDia();
+		Map<String, Double> anguloPorPlanetaMap = new LinkedHashMap<String, Double>();
+		anguloPorPlanetaMap.put(this.planetaA.getNombre(), this.planetaA.calcularAngulo(queDia));
+		anguloPorPlanetaMap.put(this.planetaB.getNombre(), this.planetaB.calcularAngulo(queDia));
+		anguloPorPlanetaMap.put(this.planetaC.getNombre(), this.planetaC.calcularAngulo(queDia));
+		return anguloPorPlanetaMap;
+	}
+
+	/**
+	 * Calcula la distancia entre cada par de planetas para este día
+	 *
+	 * @return la distancia [en kilometros] por par de planetas ("AB", "BC" y
+	 *         "CA")
+	 */
+	public Map<String, Double> getDistanciaEntrePlanetas() {
+		int queDia = this.pronostico.getDia();
+		Point2D.Double coordenadasA = this.planetaA.calcularCoordenadas(queDia);
+		Point2D.Double coordenadasB = this.planetaB.calcularCoordenadas(queDia);
+		Point2D.Double coordenadasC = this.planetaC.calcularCoordenadas(queDia);
+		Map<String, Double> distanciaEntrePlanetasMap = new LinkedHashMap<String, Double>();
+		distanciaEntrePlanetasMap.put("AB", coordenadasA.distance(coordenadasB));
+		distanciaEntrePlanetasMap.put("BC", coordenadasB.distance(coordenadasC));
+		distanciaEntrePlanetasMap.put("CA", coordenadasC.distance(coordenadasA));
+		return distanciaEntrePlanetasMap;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("DetallePronostico [%s]", this.pronostico);
+	}
+}
@@ -0,0 +1,215 @@
+package net.kuzner.app.climaplanetas;
+
+import java.awt.geom.Point2D;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Serie precalculada de ángulos y coordenadas de un planeta del sistema solar
+ * FBV
+ *
+ * Si el planeta tiene un período orbital exacto, la serie guarda una sola
+ * órbita y sirve para cualquier día no negativo. En caso contrario, cubre los
+ * días desde cero hasta {@link #getCuantosDias()} (exclusive).
+ *
+ * @author Raul Kuzner
+ */
+public class Efemerides {
+
+	private final Logger logger = Logger.getLogger(this.getClass().getName());
+
+	private final Planeta planeta;
+	private final int periodo;
+	private final int cuantosDias;
+	private final double[] anguloPorDia;
+	private final double[] xPorDia;
+	private final double[] yPorDia;
+
+	/**
+	 * Constructor
+	 *
+	 * @param planeta
+	 *            el planeta para el cual se calcula la serie
+	 * @param cuantosDias
+	 *            la cantidad mínima de días que debe cubrir la serie
+	 *
+	 * @throws NullPointerException
+	 *             si {@code planeta} es null
+	 * @throws IllegalArgumentException
+	 *             si {@code cuantosDias} es cero o negativo
+	 */
+	public Efemerides(Planeta planeta, int cuantosDias) {
+		this.planeta = Objects.requireNonNull(planeta, "falta el planeta");
+		if (cuantosDias <= 0) {
+			throw new IllegalArgumentException("la cantidad de días no puede ser cero o negativo");
+		}
+		this.periodo = planeta.calcularPeriodo();
+		this.cuantosDias = (this.periodo > 0) ? Integer.MAX_VALUE : cuantosDias;
+
+		int largoSerie = (this.periodo > 0) ? this.periodo : cuantosDias;
+		this.anguloPorDia = new double[largoSerie];
+		this.xPorDia = new double[largoSerie];
+		this.yPorDia = new double[largoSerie];
+
+		for (int queDia = 0; queDia < largoSerie; queDia++) {
+			double anguloGrados = planeta.calcularAngulo(queDia);
+			Point2D.Double coordenadas = planeta.calcularCoordenadas(anguloGrados);
+			this.anguloPorDia[queDia] = anguloGrados;
+			this.xPorDia[queDia] = coordenadas.getX();
+			this.yPorDia[queDia] = coordenadas.getY();
+		}
+
+		if (this.logger.isLoggable(Level.FINE)) {
+			this.logger.fine(String.format("Efemérides de %s calculadas para %d días", planeta.getNombre(),
+					largoSerie));
+		}
+	}
+
+	private Efemerides(Efemerides origen, Planeta planeta) {
+		this.planeta = planeta;
+		this.periodo = origen.periodo;
+		this.cuantosDias = origen.cuantosDias;
+		this.anguloPorDia = origen.anguloPorDia;
+		this.xPorDia = origen.xPorDia;
+		this.yPorDia = origen.yPorDia;
+	}
+
+	/**
+	 * Obtiene estas Efemérides para otro planeta con la misma órbita, sin
+	 * copiar la serie
+	 *
+	 * @param otroPlaneta
+	 *            un planeta con el mismo radio y la misma velocidad angular
+	 * @return Efemérides que comparten la serie y tienen a {@code otroPlaneta}
+	 *         como planeta
+	 *
+	 * @throws NullPointerException
+	 *             si {@code otroPlaneta} es null
+	 * @throws IllegalArgumentException
+	 *             si {@code otroPlaneta} tiene otra órbita
+	 */
+	public Efemerides paraPlaneta(Planeta otroPlaneta) {
+		Objects.requireNonNull(otroPlaneta, "falta el planeta");
+		if (otroPlaneta == this.planeta) {
+			return this;
+		}
+		if (Double.doubleToLongBits(otroPlaneta.getRadioOrbita()) != Double
+				.doubleToLongBits(this.planeta.getRadioOrbita())
+				|| Double.doubleToLongBits(otroPlaneta.getVelocidadAngular()) != Double
+						.doubleToLongBits(this.planeta.getVelocidadAngular())) {
+			throw new IllegalArgumentException("el planeta tiene otra órbita");
+		}
+		return new Efemerides(this, otroPlaneta);
+	}
+
+	/**
+	 * Obtiene el planeta de estas Efemérides
+	 *
+	 * @return el planeta de estas Efemérides
+	 */
+	public Planeta getPlaneta() {
+		return this.planeta;
+	}
+
+	/**
+	 * Obtiene la cantidad de días cubiertos por estas Efemérides
+	 *
+	 * @return la cantidad de días cubiertos por estas Efemérides
+	 *         ({@link Integer#MAX_VALUE} si el planeta es periódico)
+	 */
+	public int getCuantosDias() {
+		return this.cuantosDias;
+	}
+
+	/**
+	 * Indica si estas Efemérides cubren los días desde cero hasta
+	 * {@code cuantosDias} (exclusive)
+	 *
+	 * @param cuantosDias
+	 *            la cantidad de días a cubrir
+	 * @return true si estas Efemérides cubren esos días
+	 */
+	public boolean cubre(int cuantosDias) {
+		return cuantosDias <= this.cuantosDias;
+	}
+
+	/**
+	 * Obtiene el ángulo del planeta para un día específico
+	 *
+	 * @param queDia
+	 *            el día para el cual se desea el ángulo
+	 * @return el ángulo del planeta para ese día
+	 */
+	public double getAngulo(int queDia) {
+		if (!this.estaEnSerie(queDia)) {
+			return this.planeta.calcularAngulo(queDia);
+		}
+		return this.anguloPorDia[this.indice(queDia)];
+	}
+
+	/**
+	 * Obtiene las coordenadas del planeta para un día específico
+	 *
+	 * @param queDia
+	 *            el día para el cual se desean las coordenadas
+	 * @return las coordenadas del planeta para ese día
+	 */
+	public Point2D.Double getCoordenadas(int queDia) {
+		if (!this.estaEnSerie(queDia)) {
+			return this.planeta.calcularCoordenadas(queDia);
+		}
+		int indice = this.indice(queDia);
+		return new Point2D.Double(this.xPorDia[indice], this.yPorDia[indice]);
+	}
+
+	/**
+	 * Copia los ángulos y coordenadas de días consecutivos en arreglos
+	 *
+	 * @param desde
+	 *            el primer día a copiar
+	 * @param cuantos
+	 *            la cantidad de días a copiar
+	 * @param angulos
+	 *            donde se copian los ángulos, desde la posición cero
+	 * @param xs
+	 *            donde se copian las coordenadas x, desde la posición cero
+	 * @param ys
+	 *            donde se copian las coordenadas y, desde la posición cero
+	 */
+	public void copiar(int desde, int cuantos, double[] angulos, double[] xs, double[] ys) {
+		int copiados = 0;
+		while (copiados < cuantos) {
+			int queDia = desde + copiados;
+			if (this.estaEnSerie(queDia)) {
+				int indice = this.indice(queDia);
+				int tramo = Math.min(cuantos - copiados, this.anguloPorDia.length - indice);
+				System.arraycopy(this.anguloPorDia, indice, angulos, copiados, tramo);
+				System.arraycopy(this.xPorDia, indice, xs, copiados, tramo);
+				System.arraycopy(this.yPorDia, indice, ys, copiados, tramo);
+				copiados += tramo;
+			} else {
+				double anguloGrados = this.planeta.calcularAngulo(queDia);
+				Point2D.Double coordenadas = this.planeta.calcularCoordenadas(anguloGrados);
+				angulos[copiados] = anguloGrados;
+				xs[copiados] = coordenadas.getX();
+				ys[copiados] = coordenadas.getY();
+				copiados++;
+			}
+		}
+	}
+
+	private boolean estaEnSerie(int queDia) {
+		return (queDia >= 0) && (queDia < this.cuantosDias);
+	}
+
+	private int indice(int queDia) {
+		return (this.periodo > 0) ? queDia % this.periodo : queDia;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Efemerides [%s, dias=%s, periodo=%s]", this.planeta.getNombre(),
+				this.anguloPorDia.length, this.periodo);
+	}
+}
@@ -0,0 +1,66 @@
+package net.kuzner.app.climaplanetas;
+
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Representación de un escenario hipotético: tres planetas propuestos por el
+ * usuario y la cantidad de días a pronosticar
+ *
+ * @author Raul Kuzner
+ */
+public class Escenario {
+
+	private final int dias;
+	private final Planeta planetaA;
+	private final Planeta planetaB;
+	private final Planeta planetaC;
+
+	/**
+	 * Constructor
+	 *
+	 * @param dias
+	 *            la cantidad de días a pronosticar (si es null, se usa 3652)
+	 * @param planetaA
+	 *            uno de los planetas del escenario
+	 * @param planetaB
+	 *            otro de los planetas del escenario
+	 * @param planetaC
+	 *            otro más de los planetas del escenario
+	 *
+	 * @throws NullPointerException
+	 *             si alguno de los planetas es null
+	 */
+	@JsonCreator
+	public Escenario(@JsonProperty("dias") Integer dias, @JsonProperty("planetaA") Planeta planetaA,
+			@JsonProperty("planetaB") Planeta planetaB, @JsonProperty("planetaC") Planeta planetaC) {
+		this.dias = Objects.isNull(dias) ? 3652 : dias;
+		this.planetaA = Objects.requireNonNull(planetaA, "falta el planetaA");
+		this.planetaB = Objects.requireNonNull(planetaB, "falta el planetaB");
+		this.planetaC = Objects.requireNonNull(planetaC, "falta el planetaC");
+	}
+
+	public int getDias() {
+		return this.dias;
+	}
+
+	public Planeta getPlanetaA() {
+		return this.planetaA;
+	}
+
+	public Planeta getPlanetaB() {
+		return this.planetaB;
+	}
+
+	public Planeta getPlanetaC() {
+		return this.planetaC;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Escenario [dias=%s, %s, %s, %s]", this.dias, this.planetaA, this.planetaB,
+				this.planetaC);
+	}
+}
@@ -0,0 +1,212 @@
+package net.kuzner.app.climaplanetas;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Índice de los días en que ocurre cada clima, para responder cuándo es la
+ * próxima (o la anterior) ocurrencia a partir de un día determinado
+ *
+ * Por cada clima se guardan los días ordenados, y las consultas se resuelven
+ * con búsqueda binaria. Si el sistema solar es periódico, el índice cubre un
+ * solo período y responde para cualquier día; si no, sólo dentro de los días
+ * indexados.
+ *
+ * @author Raul Kuzner
+ */
+public class IndiceOcurrencias {
+
+	/**
+	 * clima ficticio que indexa los días con máxima precipitación
+	 */
+	public static final String PICO_LLUVIA = "Pico de lluvia";
+
+	private final Logger logger = Logger.getLogger(this.getClass().getName());
+
+	private final int cuantosDias;
+	private final boolean periodico;
+	private final Map<String, int[]> diasPorClimaMap;
+
+	/**
+	 * Constructor
+	 *
+	 * @param pronosticoCollection
+	 *            los pronósticos de los días desde cero hasta {@code cuantosDias}
+	 *            (exclusive)
+	 * @param cuantosDias
+	 *            la cantidad de días indexados
+	 * @param periodico
+	 *            true si {@code cuantosDias} es el período del sistema solar, es
+	 *            decir, si el clima se repite cada {@code cuantosDias} días
+	 *
+	 * @throws NullPointerException
+	 *             si {@code pronosticoCollection} es null
+	 * @throws IllegalArgumentException
+	 *             si {@code cuantosDias} es cero o negativo
+	 */
+	public IndiceOcurrencias(Collection<Pronostico> pronosticoCollection, int cuantosDias, boolean periodico) {
+		Objects.requireNonNull(pronosticoCollection, "falta la colección de pronósticos");
+		if (cuantosDias <= 0) {
+			throw new IllegalArgumentException("la cantidad de días no puede ser cero o negativo");
+		}
+		this.cuantosDias = cuantosDias;
+		this.periodico = periodico;
+		this.diasPorClimaMap = new HashMap<String, int[]>();
+
+		Map<String, List<Integer>> diasPorClima = new HashMap<String, List<Integer>>();
+		Prediccion prediccion = new Prediccion();
+		for (Pronostico pronostico : pronosticoCollection) {
+			if (pronostico.getDia() >= 0 && pronostico.getDia() < cuantosDias) {
+				diasPorClima.computeIfAbsent(pronostico.getClima(), clima -> new ArrayList<Integer>())
+						.add(pronostico.getDia());
+				prediccion.considerar(pronostico);
+			}
+		}
+		diasPorClima.put(PICO_LLUVIA, new ArrayList<Integer>(prediccion.getDiasMaximaPrecip()));
+
+		for (Map.Entry<String, List<Integer>> diasPorClimaEntry : diasPorClima.entrySet()) {
+			int[] dias = diasPorClimaEntry.getValue().stream().mapToInt(Integer::intValue).toArray();
+			Arrays.sort(dias);
+			this.diasPorClimaMap.put(diasPorClimaEntry.getKey(), dias);
+		}
+
+		if (this.logger.isLoggable(Level.INFO)) {
+			this.logger.info(String.format("Índice de ocurrencias creado para %d días (periódico: %s)", cuantosDias,
+					periodico));
+		}
+	}
+
+	/**
+	 * Obtiene los climas indexados
+	 *
+	 * @return los climas indexados
+	 */
+	public Set<String> getClimas() {
+		return this.diasPorClimaMap.keySet();
+	}
+
+	/**
+	 * Obtiene las próximas ocurrencias de un clima a partir de un día (inclusive)
+	 *
+	 * @param clima
+	 *            el clima buscado
+	 * @param desde
+	 *            el día a partir del cual se busca
+	 * @param cuantas
+	 *            la cantidad máxima de ocurrencias a obtener
+	 * @return los días de las próximas ocurrencias, en orden; puede tener menos
+	 *         de {@code cuantas} si el índice no es periódico o si las
+	 *         siguientes ocurrencias exceden {@link Long#MAX_VALUE}
+	 *
+	 * @throws IllegalArgumentException
+	 *             si el clima no está indexado, {@code desde} es negativo o
+	 *             {@code cuantas} es negativo
+	 */
+	public List<Long> siguientes(String clima, long desde, int cuantas) {
+		int[] dias = this.obtenerDias(clima, desde);
+		if (cuantas < 0) {
+			throw new IllegalArgumentException("la cantidad de ocurrencias no puede ser negativa");
+		}
+		List<Long> ocurrencias = new ArrayList<Long>(Math.min(cuantas, 1024));
+		if (dias.length == 0 || (!this.periodico && desde >= this.cuantosDias)) {
+			return ocurrencias;
+		}
+
+		long base = this.periodico ? (desde / this.cuantosDias) * this.cuantosDias : 0;
+		int indice = primeroMayorOIgual(dias, (int) (desde - base));
+		while (ocurrencias.size() < cuantas) {
+			if (indice == dias.length) {
+				if (!this.periodico || base > Long.MAX_VALUE - this.cuantosDias) {
+					break;
+				}
+				indice = 0;
+				base += this.cuantosDias;
+			}
+			if (dias[indice] > Long.MAX_VALUE - base) {
+				break;
+			}
+			ocurrencias.add(base + dias[indice]);
+			indice++;
+		}
+		return ocurrencias;
+	}
+
+	/**
+	 * Obtiene la próxima ocurrencia de un clima a partir de un día (inclusive)
+	 *
+	 * @param clima
+	 *            el clima buscado
+	 * @param desde
+	 *            el día a partir del cual se busca
+	 * @return el día de la próxima ocurrencia, o null si no hay
+	 *
+	 * @throws IllegalArgumentException
+	 *             si el clima no está indexado o {@code desde} es negativo
+	 */
+	public Long siguiente(String clima, long desde) {
+		List<Long> ocurrencias = this.siguientes(clima, desde, 1);
+		return ocurrencias.isEmpty() ? null : ocurrencias.get(0);
+	}
+
+	/**
+	 * Obtiene la última ocurrencia de un clima antes de un día (exclusive)
+	 *
+	 * @param clima
+	 *            el clima buscado
+	 * @param desde
+	 *            el día antes del cual se busca
+	 * @return el día de la ocurrencia anterior, o null si no hay o si el índice
+	 *         no es periódico y {@code desde} excede los días indexados
+	 *
+	 * @throws IllegalArgumentException
+	 *             si el clima no está indexado o {@code desde} es negativo
+	 */
+	public Long anterior(String clima, long desde) {
+		int[] dias = this.obtenerDias(clima, desde);
+		if (dias.length == 0 || (!this.periodico && desde > this.cuantosDias)) {
+			// fuera del índice puede haber ocurrencias posteriores a las indexadas
+			return null;
+		}
+
+		long base = this.periodico ? (desde / this.cuantosDias) * this.cuantosDias : 0;
+		int indice = primeroMayorOIgual(dias, (int) (desde - base)) - 1;
+		if (indice >= 0) {
+			return base + dias[indice];
+		}
+		if (base == 0) {
+			return null;
+		}
+		return base - this.cuantosDias + dias[dias.length - 1];
+	}
+
+	private int[] obtenerDias(String clima, long dia) {
+		Objects.requireNonNull(clima, "falta el clima");
+		if (dia < 0) {
+			throw new IllegalArgumentException("el día no puede ser negativo");
+		}
+		int[] dias = this.diasPorClimaMap.get(clima);
+		if (Objects.isNull(dias)) {
+			throw new IllegalArgumentException(
+					String.format("el clima '%s' no es ninguno de %s", clima, this.diasPorClimaMap.keySet()));
+		}
+		return dias;
+	}
+
+	/**
+	 * Busca la posición del primer elemento mayor o igual a un valor
+	 *
+	 * @return la posición encontrada, o {@code dias.length} si no hay ninguno
+	 */
+	private static int primeroMayorOIgual(int[] dias, int valor) {
+		int posicion = Arrays.binarySearch(dias, valor);
+		return (posicion >= 0) ? posicion : -(posicion + 1);
+	}
+}
@@ -7,6 +7,7 @@ import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
@@ -20,12 +21,32 @@ import org.springframework.stereotype.Component;
 @Scope(value = ConfigurableBeanFactory.SCOPE_SINGLETON)
 public class Meteorologo {
 
+	private static final int DIAS_POR_TRAMO = 4096;
+
 	private final Logger logger = Logger.getLogger(this.getClass().getName());
 
+	private boolean nucleoPorLotesHabilitado = true;
+
 	public Meteorologo() {
 		// Nada para hacer
 	}
 
+	/**
+	 * Habilita o deshabilita el cálculo por lotes de
+	 * {@link #calcularCodigos(int, int, Efemerides, Efemerides, Efemerides, byte[], double[])}
+	 * 
+	 * @param nucleoPorLotesHabilitado
+	 *            true para calcular por lotes, false para calcular día por día
+	 */
+	@Value("${meteorologo.lotes.habilitado:true}")
+	public void setNucleoPorLotesHabilitado(boolean nucleoPorLotesHabilitado) {
+		this.nucleoPorLotesHabilitado = nucleoPorLotesHabilitado;
+	}
+
+	public boolean isNucleoPorLotesHabilitado() {
+		return this.nucleoPorLotesHabilitado;
+	}
+
 	public Collection<Pronostico> obtenerPronosticos(int cuantosDias, Planeta planetaA, Planeta planetaB,
 			Planeta planetaC) {
 		Objects.requireNonNull(planetaA, "falta el planetaA");
@@ -48,6 +69,53 @@ public class Meteorologo {
 		return pronosticoCollection;
 	}
 
+	/**
+	 * Calcula los pronósticos de un rango de días a partir de Efemérides
+	 * precalculadas
+	 * 
+	 * @param cuantosDias
+	 *            la cantidad de días a pronosticar, desde el día cero
+	 * @param efemeridesA
+	 *            las Efemérides de uno de los planetas
+	 * @param efemeridesB
+	 *            las Efemérides de otro de los planetas
+	 * @param efemeridesC
+	 *            las Efemérides de otro más de los planetas
+	 * @return los pronósticos calculados
+	 * 
+	 * @throws NullPointerException
+	 *             si alguna de las Efemérides es null
+	 * @throws IllegalArgumentException
+	 *             si {@code cuantosDias} es cero o negativo
+	 */
+	public Collection<Pronostico> obtenerPronosticos(int cuantosDias, Efemerides efemeridesA,
+			Efemerides efemeridesB, Efemerides efemeridesC) {
+		Objects.requireNonNull(efemeridesA, "faltan las efemeridesA");
+		Objects.requireNonNull(efemeridesB, "faltan las efemeridesB");
+		Objects.requireNonNull(efemeridesC, "faltan las efemeridesC");
+		if (cuantosDias <= 0) {
+			throw new IllegalArgumentException("la cantidad de días no puede ser cero o negativo");
+		}
+		this.logger.info("Calculando pronósticos del clima a partir de efemérides");
+
+		Collection<Pronostico> pronosticoCollection = new ArrayList<Pronostico>(cuantosDias);
+		Planeta planetaA = efemeridesA.getPlaneta();
+		Planeta planetaB = efemeridesB.getPlaneta();
+		Planeta planetaC = efemeridesC.getPlaneta();
+
+		for (int queDia = 0; queDia < cuantosDias; queDia++) {
+			pronosticoCollection.add(evaluarClima(queDia, planetaA, efemeridesA.getAngulo(queDia),
+					efemeridesA.getCoordenadas(queDia), planetaB, efemeridesB.getAngulo(queDia),
+					efemeridesB.getCoordenadas(queDia), planetaC, efemeridesC.getAngulo(queDia),
+					efemeridesC.getCoordenadas(queDia)));
+		}
+
+		if (this.logger.isLoggable(Level.INFO)) {
+			this.logger.info(String.format("%d pronósticos del clima calculados", pronosticoCollection.size()));
+		}
+		return pronosticoCollection;
+	}
+
 	public Prediccion predecirClima(Collection<Pronostico> pronosticoCollection) {
 		Objects.requireNonNull(pronosticoCollection, "falta la colección de pronósticos");
 		if (pronosticoCollection.isEmpty()) {
@@ -66,6 +134,255 @@ public class Meteorologo {
 		return prediccion;
 	}
 
+	/**
+	 * Predice el clima de un rango de días sin crear ni guardar los pronósticos,
+	 * por lo que la memoria usada no depende de la cantidad de días
+	 * 
+	 * Los días se calculan por tramos con
+	 * {@link #calcularCodigos(int, int, Efemerides, Efemerides, Efemerides, byte[], double[])};
+	 * si el sistema solar es periódico se calcula un solo período y se repite,
+	 * con el mismo resultado que calcular todos los días.
+	 * 
+	 * @param cuantosDias
+	 *            la cantidad de días a considerar, desde el día cero
+	 * @param efemeridesA
+	 *            las Efemérides de uno de los planetas
+	 * @param efemeridesB
+	 *            las Efemérides de otro de los planetas
+	 * @param efemeridesC
+	 *            las Efemérides de otro más de los planetas
+	 * @return la predicción para el rango de días
+	 * 
+	 * @throws NullPointerException
+	 *             si alguna de las Efemérides es null
+	 * @throws IllegalArgumentException
+	 *             si {@code cuantosDias} es cero o negativo
+	 */
+	public Prediccion predecirClima(int cuantosDias, Efemerides efemeridesA, Efemerides efemeridesB,
+			Efemerides efemeridesC) {
+		Objects.requireNonNull(efemeridesA, "faltan las efemeridesA");
+		Objects.requireNonNull(efemeridesB, "faltan las efemeridesB");
+		Objects.requireNonNull(efemeridesC, "faltan las efemeridesC");
+		if (cuantosDias <= 0) {
+			throw new IllegalArgumentException("la cantidad de días no puede ser cero o negativo");
+		}
+		if (this.logger.isLoggable(Level.INFO)) {
+			this.logger.info(String.format("Prediciendo el clima de %d días sin guardar pronósticos", cuantosDias));
+		}
+
+		int periodo = this.calcularPeriodo(efemeridesA.getPlaneta(), efemeridesB.getPlaneta(),
+				efemeridesC.getPlaneta());
+		Prediccion prediccion = (periodo > 0)
+				? this.predecirPeriodos(cuantosDias, periodo, efemeridesA, efemeridesB, efemeridesC)
+				: this.predecirPorTramos(cuantosDias, efemeridesA, efemeridesB, efemeridesC);
+
+		this.logger.info("Terminé la predicción");
+		return prediccion;
+	}
+
+	private Prediccion predecirPorTramos(int cuantosDias, Efemerides efemeridesA, Efemerides efemeridesB,
+			Efemerides efemeridesC) {
+		Prediccion prediccion = new Prediccion();
+		int[] cantidadPorClima = new int[Clima.values().length];
+		byte[] codigos = new byte[Math.min(cuantosDias, DIAS_POR_TRAMO)];
+		double[] precipitaciones = new double[codigos.length];
+		NucleoClimaPorLotes nucleo = new NucleoClimaPorLotes();
+		int cuantos;
+		for (int inicio = 0; inicio < cuantosDias; inicio += cuantos) {
+			cuantos = Math.min(codigos.length, cuantosDias - inicio);
+			this.calcularCodigos(inicio, cuantos, efemeridesA, efemeridesB, efemeridesC, codigos, precipitaciones,
+					nucleo);
+			for (int i = 0; i < cuantos; i++) {
+				cantidadPorClima[Clima.desdeCodigo(codigos[i]).ordinal()]++;
+				prediccion.considerarPrecipitacion(inicio + i, precipitaciones[i]);
+			}
+		}
+
+		for (Clima clima : Clima.values()) {
+			prediccion.considerar(clima, cantidadPorClima[clima.ordinal()]);
+		}
+		return prediccion;
+	}
+
+	private Prediccion predecirPeriodos(int cuantosDias, int periodo, Efemerides efemeridesA,
+			Efemerides efemeridesB, Efemerides efemeridesC) {
+		// el clima del día d es el mismo que el del día d % periodo
+		int calculados = Math.min(cuantosDias, periodo);
+		byte[] codigos = new byte[calculados];
+		double[] precipitaciones = new double[calculados];
+		this.calcularCodigos(0, calculados, efemeridesA, efemeridesB, efemeridesC, codigos, precipitaciones);
+
+		Prediccion prediccion = new Prediccion();
+		int periodosCompletos = cuantosDias / periodo;
+		int resto = cuantosDias % periodo;
+		int[] cantidadPorClima = new int[Clima.values().length];
+		double maximaPrecipitacion = 0;
+		for (int i = 0; i < calculados; i++) {
+			cantidadPorClima[Clima.desdeCodigo(codigos[i]).ordinal()] += periodosCompletos + ((i < resto) ? 1 : 0);
+			maximaPrecipitacion = Math.max(maximaPrecipitacion, precipitaciones[i]);
+		}
+		for (Clima clima : Clima.values()) {
+			prediccion.considerar(clima, cantidadPorClima[clima.ordinal()]);
+		}
+
+		// sólo se recorren los días del período con la máxima precipitación
+		int[] diasMaximaPrecipitacion = new int[calculados];
+		int cuantosMaxima = 0;
+		for (int i = 0; i < calculados; i++) {
+			if (precipitaciones[i] == maximaPrecipitacion) {
+				diasMaximaPrecipitacion[cuantosMaxima++] = i;
+			}
+		}
+		for (long inicio = 0; inicio < cuantosDias; inicio += periodo) {
+			for (int i = 0; i < cuantosMaxima && inicio + diasMaximaPrecipitacion[i] < cuantosDias; i++) {
+				prediccion.considerarPrecipitacion((int) (inicio + diasMaximaPrecipitacion[i]), maximaPrecipitacion);
+			}
+		}
+		return prediccion;
+	}
+
+	/**
+	 * Calcula el código de clima y la precipitación de días consecutivos,
+	 * dejándolos en arreglos primitivos sin crear un Pronóstico por día
+	 * 
+	 * Si está habilitado, usa el cálculo por lotes; si no, calcula día por día.
+	 * 
+	 * @param desde
+	 *            el primer día a calcular
+	 * @param cuantos
+	 *            la cantidad de días a calcular
+	 * @param efemeridesA
+	 *            las Efemérides de uno de los planetas
+	 * @param efemeridesB
+	 *            las Efemérides de otro de los planetas
+	 * @param efemeridesC
+	 *            las Efemérides de otro más de los planetas
+	 * @param codigos
+	 *            donde se deja el código de {@link Clima} de cada día, desde la
+	 *            posición cero
+	 * @param precipitaciones
+	 *            donde se deja la precipitación de cada día, desde la posición
+	 *            cero
+	 * 
+	 * @throws NullPointerException
+	 *             si alguno de los parámetros es null
+	 * @throws IllegalArgumentException
+	 *             si {@code cuantos} es negativo o los arreglos son más cortos
+	 */
+	public void calcularCodigos(int desde, int cuantos, Efemerides efemeridesA, Efemerides efemeridesB,
+			Efemerides efemeridesC, byte[] codigos, double[] precipitaciones) {
+		this.calcularCodigos(desde, cuantos, efemeridesA, efemeridesB, efemeridesC, codigos, precipitaciones,
+				new NucleoClimaPorLotes());
+	}
+
+	/**
+	 * Igual que
+	 * {@link #calcularCodigos(int, int, Efemerides, Efemerides, Efemerides, byte[], double[])},
+	 * pero con un cálculo por lotes que se reutiliza entre los tramos de un
+	 * mismo cálculo
+	 * 
+	 * @param nucleo
+	 *            el cálculo por lotes a usar si está habilitado
+	 */
+	void calcularCodigos(int desde, int cuantos, Efemerides efemeridesA, Efemerides efemeridesB,
+			Efemerides efemeridesC, byte[] codigos, double[] precipitaciones, NucleoClimaPorLotes nucleo) {
+		Objects.requireNonNull(nucleo, "falta el cálculo por lotes");
+		Objects.requireNonNull(efemeridesA, "faltan las efemeridesA");
+		Objects.requireNonNull(efemeridesB, "faltan las efemeridesB");
+		Objects.requireNonNull(efemeridesC, "faltan las efemeridesC");
+		Objects.requireNonNull(codigos, "faltan los códigos");
+		Objects.requireNonNull(precipitaciones, "faltan las precipitaciones");
+		if (cuantos < 0 || codigos.length < cuantos || precipitaciones.length < cuantos) {
+			throw new IllegalArgumentException("la cantidad de días no coincide con los arreglos");
+		}
+
+		if (this.nucleoPorLotesHabilitado) {
+			nucleo.calcular(desde, cuantos, efemeridesA, efemeridesB, efemeridesC, codigos, precipitaciones);
+		} else {
+			this.calcularCodigosDiaPorDia(desde, cuantos, efemeridesA, efemeridesB, efemeridesC, codigos,
+					precipitaciones);
+		}
+	}
+
+	private void calcularCodigosDiaPorDia(int desde, int cuantos, Efemerides efemeridesA, Efemerides efemeridesB,
+			Efemerides efemeridesC, byte[] codigos, double[] precipitaciones) {
+		Planeta planetaA = efemeridesA.getPlaneta();
+		Planeta planetaB = efemeridesB.getPlaneta();
+		Planeta planetaC = efemeridesC.getPlaneta();
+
+		for (int i = 0; i < cuantos; i++) {
+			int queDia = desde + i;
+			Pronostico pronostico = evaluarClima(queDia, planetaA, efemeridesA.getAngulo(queDia),
+					efemeridesA.getCoordenadas(queDia), planetaB, efemeridesB.getAngulo(queDia),
+					efemeridesB.getCoordenadas(queDia), planetaC, efemeridesC.getAngulo(queDia),
+					efemeridesC.getCoordenadas(queDia));
+			codigos[i] = Clima.desdeDescripcion(pronostico.getClima()).getCodigo();
+			precipitaciones[i] = pronostico.getPrecipitacion();
+		}
+	}
+
+	/**
+	 * Detalla un pronóstico con los ángulos de cada planeta y las distancias
+	 * entre ellos, que se calculan sólo al consultarlos
+	 * 
+	 * @param pronostico
+	 *            el pronóstico a detallar
+	 * @param planetaA
+	 *            uno de los planetas del sistema solar FBV
+	 * @param planetaB
+	 *            otro de los planetas del sistema solar FBV
+	 * @param planetaC
+	 *            otro más de los planetas del sistema solar FBV
+	 * @return el detalle del pronóstico
+	 * 
+	 * @throws NullPointerException
+	 *             si alguno de los parámetros es null
+	 */
+	public DetallePronostico detallarPronostico(Pronostico pronostico, Planeta planetaA, Planeta planetaB,
+			Planeta planetaC) {
+		return new DetallePronostico(pronostico, planetaA, planetaB, planetaC);
+	}
+
+	/**
+	 * Calcula el período del sistema solar formado por tres planetas, es decir,
+	 * la cantidad de días luego de la cual el clima se repite exactamente
+	 * 
+	 * @param planetaA
+	 *            uno de los planetas del sistema solar FBV
+	 * @param planetaB
+	 *            otro de los planetas del sistema solar FBV
+	 * @param planetaC
+	 *            otro más de los planetas del sistema solar FBV
+	 * @return el período del sistema solar [en días], o cero si alguno de los
+	 *         planetas no tiene un período exacto
+	 * 
+	 * @throws NullPointerException
+	 *             si alguno de los parámetros es null
+	 */
+	public int calcularPeriodo(Planeta planetaA, Planeta planetaB, Planeta planetaC) {
+		Objects.requireNonNull(planetaA, "falta el planetaA");
+		Objects.requireNonNull(planetaB, "falta el planetaB");
+		Objects.requireNonNull(planetaC, "falta el planetaC");
+
+		int periodo = 1;
+		for (Planeta planeta : new Planeta[] { planetaA, planetaB, planetaC }) {
+			int periodoPlaneta = planeta.calcularPeriodo();
+			if (periodoPlaneta == 0) {
+				return 0;
+			}
+			// mínimo común múltiplo; los períodos dividen a 360, asi que no desborda
+			int divisor = periodo;
+			int resto = periodoPlaneta;
+			while (resto != 0) {
+				int siguiente = divisor % resto;
+				divisor = resto;
+				resto = siguiente;
+			}
+			periodo = (periodo / divisor) * periodoPlaneta;
+		}
+		return periodo;
+	}
+
 	/**
 	 * Calcula el clima para un día determinado
 	 * 
@@ -87,39 +404,50 @@ public class Meteorologo {
 		Objects.requireNonNull(planetaB, "falta el planetaB");
 		Objects.requireNonNull(planetaC, "falta el planetaC");
 
+		double anguloGradosA = planetaA.calcularAngulo(queDia);
+		double anguloGradosB = planetaB.calcularAngulo(queDia);
+		double anguloGradosC = planetaC.calcularAngulo(queDia);
+
+		return evaluarClima(queDia, planetaA, anguloGradosA, planetaA.calcularCoordenadas(anguloGradosA), planetaB,
+				anguloGradosB, planetaB.calcularCoordenadas(anguloGradosB), planetaC, anguloGradosC,
+				planetaC.calcularCoordenadas(anguloGradosC));
+	}
+
+	private Pronostico evaluarClima(int queDia, Planeta planetaA, double anguloGradosA,
+			Point2D.Double coordenadasA, Planeta planetaB, double anguloGradosB, Point2D.Double coordenadasB,
+			Planeta planetaC, double anguloGradosC, Point2D.Double coordenadasC) {
 		// me fijo si es sequía
-		Pronostico pronostico = evaluarPorSequia(queDia, planetaA, planetaB, planetaC);
+		Pronostico pronostico = evaluarPorSequia(queDia, planetaA, anguloGradosA, planetaB, anguloGradosB,
+				planetaC, anguloGradosC);
 
 		// no es sequía, me fijo si es lluvia
 		if (Objects.isNull(pronostico)) {
-			pronostico = evaluarPorLluvia(queDia, planetaA, planetaB, planetaC);
+			pronostico = evaluarPorLluvia(queDia, coordenadasA, coordenadasB, coordenadasC);
 		}
 
 		// no es sequía ni lluvia, me fijo si es presion y temperatura ideal
 		if (Objects.isNull(pronostico)) {
-			pronostico = evaluarPorTemperatura(queDia, planetaA, planetaB, planetaC);
+			pronostico = evaluarPorTemperatura(queDia, coordenadasA, coordenadasB, coordenadasC);
 		}
 
 		// no es ninguno de los anteriores casos
 		if (Objects.isNull(pronostico)) {
-			pronostico = new Pronostico(queDia, "Estable");
+			pronostico = new Pronostico(queDia, Clima.ESTABLE.getDescripcion());
 		}
 
-		if (this.logger.isLoggable(Level.INFO)) {
-			this.logger.info(String.format("Pronóstico del clima calculado: %s", pronostico));
+		if (this.logger.isLoggable(Level.FINE)) {
+			this.logger.fine(String.format("Pronóstico del clima calculado: %s", pronostico));
 		}
 		return pronostico;
 	}
 
-	private Pronostico evaluarPorSequia(int queDia, Planeta planetaA, Planeta planetaB, Planeta planetaC) {
+	private Pronostico evaluarPorSequia(int queDia, Planeta planetaA, double anguloGradosA, Planeta planetaB,
+			double anguloGradosB, Planeta planetaC, double anguloGradosC) {
 		Objects.requireNonNull(planetaA, "falta el planetaA");
 		Objects.requireNonNull(planetaB, "falta el planetaB");
 		Objects.requireNonNull(planetaC, "falta el planetaC");
 
 		Pronostico pronostico = null;
-		double anguloGradosA = planetaA.calcularAngulo(queDia);
-		double anguloGradosB = planetaB.calcularAngulo(queDia);
-		double anguloGradosC = planetaC.calcularAngulo(queDia);
 
 		// me permite determinar si los ángulos estan alineados
 		double preliminarA = Math.abs(anguloGradosA % 180);
@@ -127,34 +455,30 @@ public class Meteorologo {
 		double preliminarC = Math.abs(anguloGradosC % 180);
 
 		if ((preliminarA == preliminarB) && (preliminarB == preliminarC)) {
-			pronostico = new Pronostico(queDia, "Sequía");
-			pronostico.setAnguloPorPlaneta(planetaA.getNombre(), anguloGradosA);
-			pronostico.setAnguloPorPlaneta(planetaB.getNombre(), anguloGradosB);
-			pronostico.setAnguloPorPlaneta(planetaC.getNombre(), anguloGradosC);
+			pronostico = new Pronostico(queDia, Clima.SEQUIA.getDescripcion());
 
 			if (this.logger.isLoggable(Level.FINE)) {
-				this.logger.fine(String.format("día: %4d, pron: %7.7s, ang: %s", queDia, pronostico.getClima(),
-						pronostico.getAnguloPorPlaneta()));
+				this.logger.fine(String.format("día: %4d, pron: %7.7s, ang: %s=%s, %s=%s, %s=%s", queDia,
+						pronostico.getClima(), planetaA.getNombre(), anguloGradosA, planetaB.getNombre(),
+						anguloGradosB, planetaC.getNombre(), anguloGradosC));
 			}
 		}
 
 		return pronostico;
 	}
 
-	private Pronostico evaluarPorLluvia(int queDia, Planeta planetaA, Planeta planetaB, Planeta planetaC) {
-		Objects.requireNonNull(planetaA, "falta el planetaA");
-		Objects.requireNonNull(planetaB, "falta el planetaB");
-		Objects.requireNonNull(planetaC, "falta el planetaC");
+	private Pronostico evaluarPorLluvia(int queDia, Point2D.Double coordenadasA, Point2D.Double coordenadasB,
+			Point2D.Double coordenadasC) {
+		Objects.requireNonNull(coordenadasA, "falta coordenadasA");
+		Objects.requireNonNull(coordenadasB, "falta coordenadasB");
+		Objects.requireNonNull(coordenadasC, "falta coordenadasC");
 
 		Pronostico pronostico = null;
 		Point2D.Double coordenadas0 = new Point2D.Double(0, 0);
-		Point2D.Double coordenadasA = planetaA.calcularCoordenadas(planetaA.calcularAngulo(queDia));
-		Point2D.Double coordenadasB = planetaB.calcularCoordenadas(planetaB.calcularAngulo(queDia));
-		Point2D.Double coordenadasC = planetaC.calcularCoordenadas(planetaC.calcularAngulo(queDia));
-		Double distanciaAB = null;
-		Double distanciaBC = null;
-		Double distanciaCA = null;
-		Double perimetro = null;
+		double distanciaAB = 0;
+		double distanciaBC = 0;
+		double distanciaCA = 0;
+		double perimetro = 0;
 
 		// calculo la orientación de los cuatro triángulos formados por:
 		// - los tres planetas entre sí
@@ -168,7 +492,7 @@ public class Meteorologo {
 		if (Math.abs(preliminarABC + preliminarAB0 + preliminarBC0 + preliminarCA0) == 4) {
 			// si el signo de las cuatro orientaciones es el mismo,
 			// entonces la estrella esta dentro del triángulo formado por los tres planetas.
-			pronostico = new Pronostico(queDia, "Lluvia");
+			pronostico = new Pronostico(queDia, Clima.LLUVIA.getDescripcion());
 
 			// ademas ahora calculo el perimetro y lo guardo como representacion para
 			// determinar las precipitaciones maximas
@@ -177,14 +501,11 @@ public class Meteorologo {
 			distanciaCA = coordenadasC.distance(coordenadasA);
 			perimetro = distanciaAB + distanciaBC + distanciaCA;
 
-			pronostico.putDistanciaEntrePlanetas("AB", distanciaAB);
-			pronostico.putDistanciaEntrePlanetas("BC", distanciaBC);
-			pronostico.putDistanciaEntrePlanetas("CA", distanciaCA);
 			pronostico.setPrecipitacion(perimetro);
 
 			if (this.logger.isLoggable(Level.FINE)) {
-				this.logger.fine(String.format("día: %4d, pron: %7.7s, ang: %s", queDia, pronostico.getClima(),
-						pronostico.getDistanciaEntrePlanetas()));
+				this.logger.fine(String.format("día: %4d, pron: %7.7s, dist: AB=%s, BC=%s, CA=%s", queDia,
+						pronostico.getClima(), distanciaAB, distanciaBC, distanciaCA));
 			}
 		}
 
@@ -217,21 +538,19 @@ public class Meteorologo {
 		return orientacion;
 	}
 
-	private Pronostico evaluarPorTemperatura(int queDia, Planeta planetaA, Planeta planetaB, Planeta planetaC) {
-		Objects.requireNonNull(planetaA, "falta el planetaA");
-		Objects.requireNonNull(planetaB, "falta el planetaB");
-		Objects.requireNonNull(planetaC, "falta el planetaC");
+	private Pronostico evaluarPorTemperatura(int queDia, Point2D.Double coordenadasA, Point2D.Double coordenadasB,
+			Point2D.Double coordenadasC) {
+		Objects.requireNonNull(coordenadasA, "falta coordenadasA");
+		Objects.requireNonNull(coordenadasB, "falta coordenadasB");
+		Objects.requireNonNull(coordenadasC, "falta coordenadasC");
 
 		Pronostico pronostico = null;
-		Point2D.Double coordenadasA = planetaA.calcularCoordenadas(planetaA.calcularAngulo(queDia));
-		Point2D.Double coordenadasB = planetaB.calcularCoordenadas(planetaB.calcularAngulo(queDia));
-		Point2D.Double coordenadasC = planetaC.calcularCoordenadas(planetaC.calcularAngulo(queDia));
-		Double distanciaAB = coordenadasA.distance(coordenadasB);
-		Double distanciaBC = coordenadasB.distance(coordenadasC);
-		Double distanciaCA = coordenadasC.distance(coordenadasA);
-		Double perimetro = null;
+		double distanciaAB = coordenadasA.distance(coordenadasB);
+		double distanciaBC = coordenadasB.distance(coordenadasC);
+		double distanciaCA = coordenadasC.distance(coordenadasA);
+		double perimetro = 0;
 		double margen = 1; // en kilometros
-		Double maximaDistancia = null;
+		double maximaDistancia = 0;
 
 		// Los tres planetas estarán alineados entre sí, sin estar alineados a
 		// la estrella cuando el perímetro del triángulo que dibujan dividido
@@ -245,15 +564,11 @@ public class Meteorologo {
 		maximaDistancia = Math.max(Math.max(distanciaAB, distanciaBC), distanciaCA);
 
 		if (((perimetro / 2) - maximaDistancia) < margen) {
-			pronostico = new Pronostico(queDia, "Presión y temperatura ideal");
-
-			pronostico.putDistanciaEntrePlanetas("AB", distanciaAB);
-			pronostico.putDistanciaEntrePlanetas("BC", distanciaBC);
-			pronostico.putDistanciaEntrePlanetas("CA", distanciaCA);
+			pronostico = new Pronostico(queDia, Clima.TEMPERATURA_IDEAL.getDescripcion());
 
 			if (this.logger.isLoggable(Level.FINE)) {
-				this.logger.fine(String.format("día: %4d, pron: %7.7s, ang: %s", queDia, pronostico.getClima(),
-						pronostico.getDistanciaEntrePlanetas()));
+				this.logger.fine(String.format("día: %4d, pron: %7.7s, dist: AB=%s, BC=%s, CA=%s", queDia,
+						pronostico.getClima(), distanciaAB, distanciaBC, distanciaCA));
 			}
 		}
 
@@ -0,0 +1,130 @@
+package net.kuzner.app.climaplanetas;
+
+import java.util.Objects;
+
+/**
+ * Calcula el clima de días consecutivos por lotes, dejando el código de clima
+ * y la precipitación de cada día en arreglos primitivos
+ *
+ * Cada lote copia las Efemérides a arreglos y aplica las mismas fórmulas que
+ * {@link Meteorologo} en bucles simples, sin crear objetos por día. Las
+ * operaciones se hacen en el mismo orden que en {@link Meteorologo}, y
+ * NucleoClimaPorLotesTest verifica que los resultados son idénticos a los del
+ * cálculo día por día.
+ *
+ * Los arreglos de trabajo se crean con la instancia, así que conviene usar la
+ * misma para todos los tramos de un cálculo. No es thread-safe: cada hilo debe
+ * usar su propia instancia.
+ *
+ * @author Raul Kuzner
+ */
+class NucleoClimaPorLotes {
+
+	/**
+	 * cantidad de días por lote; los arreglos de trabajo entran en la caché L1
+	 */
+	static final int ANCHO_LOTE = 256;
+
+	private static final double MARGEN_TEMPERATURA = 1; // en kilometros
+
+	private final double[] anguloA = new double[ANCHO_LOTE];
+	private final double[] anguloB = new double[ANCHO_LOTE];
+	private final double[] anguloC = new double[ANCHO_LOTE];
+	private final double[] xA = new double[ANCHO_LOTE];
+	private final double[] yA = new double[ANCHO_LOTE];
+	private final double[] xB = new double[ANCHO_LOTE];
+	private final double[] yB = new double[ANCHO_LOTE];
+	private final double[] xC = new double[ANCHO_LOTE];
+	private final double[] yC = new double[ANCHO_LOTE];
+	private final double[] perimetro = new double[ANCHO_LOTE];
+	private final double[] maximaDistancia = new double[ANCHO_LOTE];
+	private final int[] orientacionesPositivas = new int[ANCHO_LOTE];
+
+	/**
+	 * Calcula el clima de días consecutivos
+	 *
+	 * @param desde
+	 *            el primer día a calcular
+	 * @param cuantos
+	 *            la cantidad de días a calcular
+	 * @param efemeridesA
+	 *            las Efemérides de uno de los planetas
+	 * @param efemeridesB
+	 *            las Efemérides de otro de los planetas
+	 * @param efemeridesC
+	 *            las Efemérides de otro más de los planetas
+	 * @param codigos
+	 *            donde se deja el código de {@link Clima} de cada día, desde la
+	 *            posición cero
+	 * @param precipitaciones
+	 *            donde se deja la precipitación de cada día, desde la posición
+	 *            cero
+	 */
+	void calcular(int desde, int cuantos, Efemerides efemeridesA, Efemerides efemeridesB, Efemerides efemeridesC,
+			byte[] codigos, double[] precipitaciones) {
+		Objects.requireNonNull(efemeridesA, "faltan las efemeridesA");
+		Objects.requireNonNull(efemeridesB, "faltan las efemeridesB");
+		Objects.requireNonNull(efemeridesC, "faltan las efemeridesC");
+
+		for (int inicio = 0; inicio < cuantos; inicio += ANCHO_LOTE) {
+			int ancho = Math.min(ANCHO_LOTE, cuantos - inicio);
+			efemeridesA.copiar(desde + inicio, ancho, this.anguloA, this.xA, this.yA);
+			efemeridesB.copiar(desde + inicio, ancho, this.anguloB, this.xB, this.yB);
+			efemeridesC.copiar(desde + inicio, ancho, this.anguloC, this.xC, this.yC);
+			this.calcularLote(ancho, inicio, codigos, precipitaciones);
+		}
+	}
+
+	private void calcularLote(int ancho, int posicion, byte[] codigos, double[] precipitaciones) {
+		// distancias entre planetas, igual que Point2D.distance
+		for (int i = 0; i < ancho; i++) {
+			double distanciaAB = Math.sqrt((this.xB[i] - this.xA[i]) * (this.xB[i] - this.xA[i])
+					+ (this.yB[i] - this.yA[i]) * (this.yB[i] - this.yA[i]));
+			double distanciaBC = Math.sqrt((this.xC[i] - this.xB[i]) * (this.xC[i] - this.xB[i])
+					+ (this.yC[i] - this.yB[i]) * (this.yC[i] - this.yB[i]));
+			double distanciaCA = Math.sqrt((this.xA[i] - this.xC[i]) * (this.xA[i] - this.xC[i])
+					+ (this.yA[i] - this.yC[i]) * (this.yA[i] - this.yC[i]));
+			this.perimetro[i] = distanciaAB + distanciaBC + distanciaCA;
+			this.maximaDistancia[i] = Math.max(Math.max(distanciaAB, distanciaBC), distanciaCA);
+		}
+
+		// cantidad de orientaciones positivas de los triángulos ABC, AB0, BC0 y CA0;
+		// si son cero o cuatro, la estrella está dentro del triángulo
+		for (int i = 0; i < ancho; i++) {
+			double ax = this.xA[i];
+			double ay = this.yA[i];
+			double bx = this.xB[i];
+			double by = this.yB[i];
+			double cx = this.xC[i];
+			double cy = this.yC[i];
+			// con la estrella en (0, 0), (A.x - 0) * (B.y - 0) - (A.y - 0) * (B.x - 0) da
+			// exactamente lo mismo que A.x * B.y - A.y * B.x
+			this.orientacionesPositivas[i] = ((((ax - cx) * (by - cy) - (ay - cy) * (bx - cx)) >= 0) ? 1 : 0)
+					+ (((ax * by - ay * bx) >= 0) ? 1 : 0)
+					+ (((bx * cy - by * cx) >= 0) ? 1 : 0)
+					+ (((cx * ay - cy * ax) >= 0) ? 1 : 0);
+		}
+
+		for (int i = 0; i < ancho; i++) {
+			boolean sequia = (Math.abs(this.anguloA[i] % 180) == Math.abs(this.anguloB[i] % 180))
+					&& (Math.abs(this.anguloB[i] % 180) == Math.abs(this.anguloC[i] % 180));
+			boolean lluvia = (this.orientacionesPositivas[i] == 0) || (this.orientacionesPositivas[i] == 4);
+			boolean temperaturaIdeal = ((this.perimetro[i] / 2) - this.maximaDistancia[i]) < MARGEN_TEMPERATURA;
+
+			byte codigo;
+			double precipitacion = 0;
+			if (sequia) {
+				codigo = Clima.SEQUIA.getCodigo();
+			} else if (lluvia) {
+				codigo = Clima.LLUVIA.getCodigo();
+				precipitacion = this.perimetro[i];
+			} else if (temperaturaIdeal) {
+				codigo = Clima.TEMPERATURA_IDEAL.getCodigo();
+			} else {
+				codigo = Clima.ESTABLE.getCodigo();
+			}
+			codigos[posicion + i] = codigo;
+			precipitaciones[posicion + i] = precipitacion;
+		}
+	}
+}
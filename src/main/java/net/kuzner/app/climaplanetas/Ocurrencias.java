@@ -0,0 +1,64 @@
+package net.kuzner.app.climaplanetas;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Representación de las ocurrencias de un clima alrededor de un día
+ * determinado
+ *
+ * @author Raul Kuzner
+ */
+public class Ocurrencias {
+
+	private final String clima;
+	private final long desde;
+	private final Long anterior;
+	private final List<Long> proximos;
+
+	/**
+	 * Constructor
+	 *
+	 * @param clima
+	 *            el clima buscado
+	 * @param desde
+	 *            el día a partir del cual se buscó
+	 * @param anterior
+	 *            el día de la última ocurrencia antes de {@code desde}
+	 *            (exclusive), o null si no hay
+	 * @param proximos
+	 *            los días de las próximas ocurrencias desde {@code desde}
+	 *            (inclusive)
+	 *
+	 * @throws NullPointerException
+	 *             si {@code clima} o {@code proximos} es null
+	 */
+	public Ocurrencias(String clima, long desde, Long anterior, List<Long> proximos) {
+		this.clima = Objects.requireNonNull(clima, "falta el clima");
+		this.desde = desde;
+		this.anterior = anterior;
+		this.proximos = Objects.requireNonNull(proximos, "faltan los próximos días");
+	}
+
+	public String getClima() {
+		return this.clima;
+	}
+
+	public long getDesde() {
+		return this.desde;
+	}
+
+	public Long getAnterior() {
+		return this.anterior;
+	}
+
+	public List<Long> getProximos() {
+		return this.proximos;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Ocurrencias [clima=%s, desde=%s, anterior=%s, proximos=%s]", this.clima, this.desde,
+				this.anterior, this.proximos);
+	}
+}
@@ -0,0 +1,360 @@
+package net.kuzner.app.climaplanetas;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Resúmenes del clima a varias resoluciones, para agregar rangos de días sin
+ * recorrerlos día por día
+ *
+ * El nivel cero son los días; cada nivel siguiente resume pares de nodos del
+ * anterior (cantidad de días por clima, máxima precipitación y primer día en
+ * que ocurre), de modo que cualquier rango se resuelve con una cantidad
+ * logarítmica de nodos. Si el sistema solar es periódico, la pirámide cubre un
+ * solo período y los rangos más largos se resuelven con períodos completos.
+ *
+ * @author Raul Kuzner
+ */
+public class PiramideClima {
+
+	private static final int CANTIDAD_CLIMAS = Clima.values().length;
+
+	private final Logger logger = Logger.getLogger(this.getClass().getName());
+
+	private final int cuantosDias;
+	private final boolean periodico;
+	private final byte[] codigos;
+	private final double[] precipitaciones;
+
+	/**
+	 * por nivel (desde el uno): cantidad de días de cada clima en cada nodo,
+	 * indexada por {@code nodo * CANTIDAD_CLIMAS + ordinal}
+	 */
+	private final int[][] conteosPorNivel;
+	private final double[][] maximaPorNivel;
+	private final int[][] diaMaximaPorNivel;
+
+	private final Tramo total;
+
+	/**
+	 * Constructor
+	 *
+	 * @param codigos
+	 *            el código de {@link Clima} de los días desde cero
+	 * @param precipitaciones
+	 *            la precipitación de los días desde cero
+	 * @param periodico
+	 *            true si la cantidad de días es el período del sistema solar
+	 *
+	 * @throws NullPointerException
+	 *             si alguno de los arreglos es null
+	 * @throws IllegalArgumentException
+	 *             si los arreglos están vacíos o tienen distinto largo
+	 */
+	public PiramideClima(byte[] codigos, double[] precipitaciones, boolean periodico) {
+		this.codigos = Objects.requireNonNull(codigos, "faltan los códigos");
+		this.precipitaciones = Objects.requireNonNull(precipitaciones, "faltan las precipitaciones");
+		if (codigos.length == 0 || codigos.length != precipitaciones.length) {
+			throw new IllegalArgumentException("los códigos y las precipitaciones deben tener el mismo largo");
+		}
+		this.cuantosDias = codigos.length;
+		this.periodico = periodico;
+
+		int niveles = 32 - Integer.numberOfLeadingZeros(this.cuantosDias - 1);
+		this.conteosPorNivel = new int[niveles + 1][];
+		this.maximaPorNivel = new double[niveles + 1][];
+		this.diaMaximaPorNivel = new int[niveles + 1][];
+
+		for (int nivel = 1; nivel <= niveles; nivel++) {
+			int nodos = ((this.cuantosDias - 1) >> nivel) + 1;
+			int[] conteos = new int[nodos * CANTIDAD_CLIMAS];
+			double[] maxima = new double[nodos];
+			int[] diaMaxima = new int[nodos];
+			for (int nodo = 0; nodo < nodos; nodo++) {
+				int izquierdo = nodo * 2;
+				int derecho = izquierdo + 1;
+				this.copiarNodo(nivel - 1, izquierdo, conteos, maxima, diaMaxima, nodo);
+				if ((derecho << (nivel - 1)) < this.cuantosDias) {
+					this.sumarNodo(nivel - 1, derecho, conteos, maxima, diaMaxima, nodo);
+				}
+			}
+			this.conteosPorNivel[nivel] = conteos;
+			this.maximaPorNivel[nivel] = maxima;
+			this.diaMaximaPorNivel[nivel] = diaMaxima;
+		}
+
+		this.total = this.resumirBase(0, this.cuantosDias - 1);
+
+		if (this.logger.isLoggable(Level.INFO)) {
+			this.logger.info(String.format("Pirámide de clima creada para %d días en %d niveles (periódica: %s)",
+					this.cuantosDias, niveles, periodico));
+		}
+	}
+
+	/**
+	 * Obtiene la cantidad de días cubiertos por esta Pirámide
+	 *
+	 * @return la cantidad de días cubiertos
+	 */
+	public int getCuantosDias() {
+		return this.cuantosDias;
+	}
+
+	/**
+	 * Indica si esta Pirámide responde para cualquier día
+	 *
+	 * @return true si el sistema solar es periódico
+	 */
+	public boolean isPeriodico() {
+		return this.periodico;
+	}
+
+	/**
+	 * Resume el clima de un rango de días (inclusive)
+	 *
+	 * @param desde
+	 *            el primer día del rango
+	 * @param hasta
+	 *            el último día del rango
+	 * @return el resumen del rango
+	 *
+	 * @throws IllegalArgumentException
+	 *             si el rango es inválido o, en un sistema no periódico, excede
+	 *             los días cubiertos
+	 */
+	public Tramo resumir(long desde, long hasta) {
+		if (desde < 0 || hasta < desde) {
+			throw new IllegalArgumentException("el rango de días es inválido");
+		}
+		if (!this.periodico) {
+			if (hasta >= this.cuantosDias) {
+				throw new IllegalArgumentException(
+						String.format("sólo se pueden resumir días hasta el %d", this.cuantosDias - 1));
+			}
+			return this.resumirBase((int) desde, (int) hasta);
+		}
+
+		long periodoDesde = desde / this.cuantosDias;
+		long periodoHasta = hasta / this.cuantosDias;
+		int restoDesde = (int) (desde % this.cuantosDias);
+		int restoHasta = (int) (hasta % this.cuantosDias);
+		if (periodoDesde == periodoHasta) {
+			return this.resumirBase(restoDesde, restoHasta).desplazar(periodoDesde * this.cuantosDias);
+		}
+
+		// principio parcial, períodos completos y final parcial, en orden
+		Tramo tramo = this.resumirBase(restoDesde, this.cuantosDias - 1)
+				.desplazar(periodoDesde * this.cuantosDias);
+		long periodosCompletos = periodoHasta - periodoDesde - 1;
+		if (periodosCompletos > 0) {
+			tramo.agregar(this.total.multiplicar(periodosCompletos).desplazar((periodoDesde + 1) * this.cuantosDias));
+		}
+		tramo.agregar(this.resumirBase(0, restoHasta).desplazar(periodoHasta * this.cuantosDias));
+		return tramo;
+	}
+
+	/**
+	 * Divide un rango de días (inclusive) en tramos consecutivos del mismo ancho,
+	 * salvo quizás el último, y resume cada uno
+	 *
+	 * @param desde
+	 *            el primer día del rango
+	 * @param hasta
+	 *            el último día del rango
+	 * @param cuantosTramos
+	 *            la cantidad máxima de tramos
+	 * @return los resúmenes de los tramos, en orden
+	 *
+	 * @throws IllegalArgumentException
+	 *             si el rango es inválido, si {@code cuantosTramos} es cero o
+	 *             negativo o, en un sistema no periódico, si el rango excede los
+	 *             días cubiertos
+	 */
+	public List<Tramo> resumirEnTramos(long desde, long hasta, int cuantosTramos) {
+		if (desde < 0 || hasta < desde || hasta == Long.MAX_VALUE) {
+			throw new IllegalArgumentException("el rango de días es inválido");
+		}
+		if (cuantosTramos <= 0) {
+			throw new IllegalArgumentException("la cantidad de tramos no puede ser cero o negativa");
+		}
+
+		// se redondea hacia arriba sin sumar, porque cerca del máximo día desborda
+		long cuantosDias = hasta - desde + 1;
+		long ancho = cuantosDias / cuantosTramos + ((cuantosDias % cuantosTramos == 0) ? 0 : 1);
+		List<Tramo> tramoList = new ArrayList<Tramo>(cuantosTramos);
+		long inicio = desde;
+		boolean ultimo = false;
+		while (!ultimo) {
+			ultimo = (hasta - inicio) < ancho;
+			long fin = ultimo ? hasta : inicio + ancho - 1;
+			tramoList.add(this.resumir(inicio, fin));
+			inicio = fin + 1;
+		}
+		return tramoList;
+	}
+
+	private Tramo resumirBase(int desde, int hasta) {
+		int[] conteos = new int[CANTIDAD_CLIMAS];
+		double[] maxima = new double[] { 0 };
+		int[] diaMaxima = new int[] { -1 };
+
+		int dia = desde;
+		while (dia <= hasta) {
+			// el nodo más grande que empieza en este día y no se pasa del rango
+			int nivel = (dia == 0) ? this.conteosPorNivel.length - 1 : Integer.numberOfTrailingZeros(dia);
+			nivel = Math.min(nivel, this.conteosPorNivel.length - 1);
+			while (nivel > 0 && ((long) dia + (1L << nivel) - 1) > hasta) {
+				nivel--;
+			}
+			this.sumarNodo(nivel, dia >> nivel, conteos, maxima, diaMaxima, 0);
+			dia += 1 << nivel;
+		}
+
+		long[] conteosTramo = new long[CANTIDAD_CLIMAS];
+		for (int i = 0; i < CANTIDAD_CLIMAS; i++) {
+			conteosTramo[i] = conteos[i];
+		}
+		return new Tramo(desde, hasta, conteosTramo, maxima[0], diaMaxima[0]);
+	}
+
+	private void copiarNodo(int nivel, int nodo, int[] conteos, double[] maxima, int[] diaMaxima, int destino) {
+		maxima[destino] = 0;
+		diaMaxima[destino] = -1;
+		this.sumarNodo(nivel, nodo, conteos, maxima, diaMaxima, destino);
+	}
+
+	/**
+	 * Suma un nodo a un resumen; los nodos deben sumarse en orden de días para
+	 * que el día de máxima precipitación sea el primero
+	 */
+	private void sumarNodo(int nivel, int nodo, int[] conteos, double[] maxima, int[] diaMaxima, int destino) {
+		double maximaNodo;
+		int diaMaximaNodo;
+		if (nivel == 0) {
+			conteos[destino * CANTIDAD_CLIMAS + Clima.desdeCodigo(this.codigos[nodo]).ordinal()]++;
+			maximaNodo = this.precipitaciones[nodo];
+			diaMaximaNodo = nodo;
+		} else {
+			int[] conteosNivel = this.conteosPorNivel[nivel];
+			for (int i = 0; i < CANTIDAD_CLIMAS; i++) {
+				conteos[destino * CANTIDAD_CLIMAS + i] += conteosNivel[nodo * CANTIDAD_CLIMAS + i];
+			}
+			maximaNodo = this.maximaPorNivel[nivel][nodo];
+			diaMaximaNodo = this.diaMaximaPorNivel[nivel][nodo];
+		}
+		if (maximaNodo > maxima[destino] && diaMaximaNodo >= 0) {
+			maxima[destino] = maximaNodo;
+			diaMaxima[destino] = diaMaximaNodo;
+		}
+	}
+
+	/**
+	 * Resumen del clima de un rango de días
+	 */
+	public static class Tramo {
+
+		private long desde;
+		private long hasta;
+		private final long[] conteos;
+		private double maximaPrecipitacion;
+		private long diaMaximaPrecipitacion;
+
+		private Tramo(long desde, long hasta, long[] conteos, double maximaPrecipitacion,
+				long diaMaximaPrecipitacion) {
+			this.desde = desde;
+			this.hasta = hasta;
+			this.conteos = conteos;
+			this.maximaPrecipitacion = maximaPrecipitacion;
+			this.diaMaximaPrecipitacion = diaMaximaPrecipitacion;
+		}
+
+		public long getDesde() {
+			return this.desde;
+		}
+
+		public long getHasta() {
+			return this.hasta;
+		}
+
+		/**
+		 * Obtiene la cantidad de días de un clima en este Tramo
+		 *
+		 * @param clima
+		 *            el clima
+		 * @return la cantidad de días de ese clima
+		 */
+		public long getCantidad(Clima clima) {
+			return this.conteos[clima.ordinal()];
+		}
+
+		/**
+		 * Obtiene la cantidad de días por clima de este Tramo
+		 *
+		 * @return la cantidad de días por clima de este Tramo
+		 */
+		public Map<String, Long> getPeriodosPorClima() {
+			Map<String, Long> periodosPorClimaMap = new LinkedHashMap<String, Long>();
+			for (Clima clima : Clima.values()) {
+				periodosPorClimaMap.put(clima.getDescripcion(), this.conteos[clima.ordinal()]);
+			}
+			return periodosPorClimaMap;
+		}
+
+		public double getMaximaPrecipitacion() {
+			return this.maximaPrecipitacion;
+		}
+
+		/**
+		 * Obtiene el primer día con máxima precipitación de este Tramo
+		 *
+		 * @return el primer día con máxima precipitación, o null si no llueve
+		 */
+		public Long getDiaMaximaPrecipitacion() {
+			return (this.diaMaximaPrecipitacion >= 0) ? this.diaMaximaPrecipitacion : null;
+		}
+
+		private Tramo desplazar(long dias) {
+			this.desde += dias;
+			this.hasta += dias;
+			if (this.diaMaximaPrecipitacion >= 0) {
+				this.diaMaximaPrecipitacion += dias;
+			}
+			return this;
+		}
+
+		private Tramo multiplicar(long veces) {
+			long[] conteosMultiplicados = new long[this.conteos.length];
+			for (int i = 0; i < this.conteos.length; i++) {
+				conteosMultiplicados[i] = this.conteos[i] * veces;
+			}
+			long largo = this.hasta - this.desde + 1;
+			return new Tramo(this.desde, this.desde + largo * veces - 1, conteosMultiplicados,
+					this.maximaPrecipitacion, this.diaMaximaPrecipitacion);
+		}
+
+		/**
+		 * Agrega el Tramo siguiente a este Tramo
+		 */
+		private void agregar(Tramo siguiente) {
+			for (int i = 0; i < this.conteos.length; i++) {
+				this.conteos[i] += siguiente.conteos[i];
+			}
+			if (siguiente.maximaPrecipitacion > this.maximaPrecipitacion) {
+				this.maximaPrecipitacion = siguiente.maximaPrecipitacion;
+				this.diaMaximaPrecipitacion = siguiente.diaMaximaPrecipitacion;
+			}
+			this.hasta = siguiente.hasta;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Tramo [desde=%s, hasta=%s, maximaPrecipitacion=%s, dia=%s]", this.desde, this.hasta,
+					this.maximaPrecipitacion, this.diaMaximaPrecipitacion);
+		}
+	}
+}
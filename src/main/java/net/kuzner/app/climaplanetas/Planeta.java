@@ -8,6 +8,9 @@ import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 /**
  * Representación de un planeta del sistema solar FBV
  * 
@@ -15,6 +18,12 @@ import java.util.logging.Logger;
  */
 public class Planeta {
 
+	/**
+	 * velocidad angular máxima para la cual {@code velocidadAngular * queDia} se
+	 * representa sin pérdida en un double para cualquier día entero
+	 */
+	private static final double MAXIMA_VELOCIDAD_PERIODICA = 1 << 20;
+
 	private final Logger logger = Logger.getLogger(this.getClass().getName());
 
 	private final String nombre;
@@ -41,7 +50,9 @@ public class Planeta {
 	 * @throws IllegalArgumentException
 	 *             si {@code velocidadAngular} es cero
 	 */
-	public Planeta(String nombre, Double radioOrbita, Double velocidadAngular) {
+	@JsonCreator
+	public Planeta(@JsonProperty("nombre") String nombre, @JsonProperty("radioOrbita") Double radioOrbita,
+			@JsonProperty("velocidadAngular") Double velocidadAngular) {
 		this.nombre = Objects.requireNonNull(nombre, "falta el nombre");
 		this.radioOrbita = Objects.requireNonNull(radioOrbita, "falta el radio de la órbita");
 		this.velocidadAngular = Objects.requireNonNull(velocidadAngular, "falta la velocidad angular");
@@ -95,6 +106,31 @@ public class Planeta {
 		return (this.getVelocidadAngular() * queDia) % 360;
 	}
 
+	/**
+	 * Calcula el período orbital exacto de este Planeta, es decir, la cantidad de
+	 * días luego de la cual {@link #calcularAngulo(int)} vuelve a dar exactamente
+	 * el mismo valor
+	 * 
+	 * Sólo las velocidades angulares enteras garantizan que el ángulo se repite
+	 * sin diferencias de redondeo; para el resto se informa cero.
+	 * 
+	 * @return el período orbital de este Planeta [en días], o cero si no es exacto
+	 */
+	public int calcularPeriodo() {
+		double velocidad = Math.abs(this.getVelocidadAngular());
+		if ((velocidad != Math.rint(velocidad)) || (velocidad > MAXIMA_VELOCIDAD_PERIODICA)) {
+			return 0;
+		}
+		int grados = (int) velocidad;
+		int divisor = 360;
+		while (grados != 0) {
+			int resto = divisor % grados;
+			divisor = grados;
+			grados = resto;
+		}
+		return 360 / divisor;
+	}
+
 	/**
 	 * Calcula las coordenadas de este Planeta para un día específico
 	 * 
@@ -0,0 +1,103 @@
+package net.kuzner.app.climaplanetas;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Precalcula la predicción al iniciar la aplicación, para que la primera
+ * consulta no pague el cálculo completo ni el código sin compilar por el JIT
+ *
+ * El trabajo se hace en un hilo aparte; mientras tanto {@code /salud} informa
+ * que la instancia no está lista.
+ *
+ * @author Raul Kuzner
+ */
+@Component
+@Scope(value = ConfigurableBeanFactory.SCOPE_SINGLETON)
+public class Precalculador {
+
+	/**
+	 * los días que se calculan en cada iteración del calentamiento; alcanzan
+	 * para que el JIT compile los cálculos sin importar cuántos días se
+	 * precalculan
+	 */
+	private static final int MAXIMO_DIAS_CALENTAMIENTO = 3652;
+
+	private final Logger logger = Logger.getLogger(this.getClass().getName());
+
+	@Autowired
+	private ServicioClima servicioClima;
+
+	@Autowired
+	private SistemaSolar sistemaSolar;
+
+	@Autowired
+	private Meteorologo meteorologo;
+
+	@Value("${precalculo.habilitado:true}")
+	private boolean habilitado;
+
+	@Value("${precalculo.dias:3652}")
+	private int cuantosDias;
+
+	@Value("${precalculo.calentamiento.iteraciones:10}")
+	private int iteracionesCalentamiento;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void iniciar() {
+		if (!this.habilitado) {
+			this.logger.info("Precálculo deshabilitado");
+			this.servicioClima.marcarListo();
+			return;
+		}
+		Thread hilo = new Thread(this::precalcular, "precalculo-clima");
+		hilo.setDaemon(true);
+		hilo.start();
+	}
+
+	private void precalcular() {
+		try {
+			long inicio = System.nanoTime();
+			this.calentar();
+			this.servicioClima.obtenerPrediccion(this.cuantosDias);
+			this.servicioClima.marcarListo();
+
+			if (this.logger.isLoggable(Level.INFO)) {
+				this.logger.info(String.format("Precálculo de %d días terminado en %d ms", this.cuantosDias,
+						(System.nanoTime() - inicio) / 1000000));
+			}
+		} catch (RuntimeException e) {
+			// la instancia queda sin marcarse como lista
+			this.logger.log(Level.SEVERE, "Falló el precálculo de la predicción", e);
+		}
+	}
+
+	/**
+	 * Ejecuta varias veces los caminos más usados para que el JIT los compile
+	 * antes de recibir tráfico
+	 */
+	private void calentar() {
+		Planeta planetaA = this.sistemaSolar.getPlanetaA();
+		Planeta planetaB = this.sistemaSolar.getPlanetaB();
+		Planeta planetaC = this.sistemaSolar.getPlanetaC();
+		int diasCalentamiento = Math.min(this.cuantosDias, MAXIMO_DIAS_CALENTAMIENTO);
+		IndiceOcurrencias indiceOcurrencias = this.servicioClima.obtenerIndiceOcurrencias();
+
+		for (int i = 0; i < this.iteracionesCalentamiento; i++) {
+			this.meteorologo.predecirClima(
+					this.meteorologo.obtenerPronosticos(diasCalentamiento, planetaA, planetaB, planetaC));
+			this.servicioClima.codificarPronosticos(0, diasCalentamiento);
+			indiceOcurrencias.siguientes(Clima.LLUVIA.getDescripcion(), i, 10);
+			indiceOcurrencias.anterior(Clima.LLUVIA.getDescripcion(), i);
+		}
+		this.logger.info("Calentamiento terminado");
+	}
+}
@@ -36,16 +36,43 @@ public class Prediccion {
 		Objects.requireNonNull(pronostico, "falta el pronóstico");
 
 		this.periodosPorClimaMap.merge(pronostico.getClima(), 1, Integer::sum);
+		this.considerarPrecipitacion(pronostico.getDia(), pronostico.getPrecipitacion());
+		this.totalPeriodos++;
+	}
 
-		if (pronostico.getPrecipitacion() > this.maximaPrecipitacion) {
+	/**
+	 * Considera de una sola vez varios días con el mismo clima, sin sus
+	 * precipitaciones
+	 * 
+	 * @param clima
+	 *            el clima de esos días
+	 * @param cuantosDias
+	 *            la cantidad de días con ese clima
+	 */
+	void considerar(Clima clima, int cuantosDias) {
+		Objects.requireNonNull(clima, "falta el clima");
+		if (cuantosDias > 0) {
+			this.periodosPorClimaMap.merge(clima.getDescripcion(), cuantosDias, Integer::sum);
+			this.totalPeriodos += cuantosDias;
+		}
+	}
+
+	/**
+	 * Considera la precipitación de un día; los días deben considerarse en orden
+	 * 
+	 * @param queDia
+	 *            el día de la precipitación
+	 * @param precipitacion
+	 *            la precipitación de ese día
+	 */
+	void considerarPrecipitacion(int queDia, double precipitacion) {
+		if (precipitacion > this.maximaPrecipitacion) {
 			this.diaMaximaPrecipCollection.clear();
-			this.maximaPrecipitacion = pronostico.getPrecipitacion();
+			this.maximaPrecipitacion = precipitacion;
 		}
-		if (pronostico.getPrecipitacion() == this.maximaPrecipitacion) {
-			this.diaMaximaPrecipCollection.add(pronostico.getDia());
+		if (precipitacion == this.maximaPrecipitacion) {
+			this.diaMaximaPrecipCollection.add(queDia);
 		}
-
-		this.totalPeriodos++;
 	}
 
 	/**
@@ -1,7 +1,5 @@
 package net.kuzner.app.climaplanetas;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.logging.Logger;
 
@@ -14,19 +12,13 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
  */
 public class Pronostico {
 
-	@JsonIgnore
-	private final Logger logger = Logger.getLogger(this.getClass().getName());
+	// compartido: cada día pronosticado guarda sólo día, clima y precipitación
+	private static final Logger logger = Logger.getLogger(Pronostico.class.getName());
 
 	private final int dia;
 
 	private final String clima;
 
-	@JsonIgnore
-	private Map<String, Double> anguloPorPlanetaMap;
-
-	@JsonIgnore
-	private Map<String, Double> distanciaEntrePlanetasMap;
-
 	@JsonIgnore
 	private double precipitacion;
 
@@ -49,7 +41,7 @@ public class Pronostico {
 		if (this.clima.isEmpty()) {
 			throw new IllegalArgumentException("el clima debe informarse");
 		}
-		this.logger.fine("Pronóstico inicializado");
+		logger.fine("Pronóstico inicializado");
 	}
 
 	/**
@@ -70,32 +62,6 @@ public class Pronostico {
 		return this.clima;
 	}
 
-	@JsonIgnore
-	public Map<String, Double> getAnguloPorPlaneta() {
-		return this.anguloPorPlanetaMap;
-	}
-
-	public void setAnguloPorPlaneta(String planeta, double anguloGrados) {
-		if (Objects.isNull(this.anguloPorPlanetaMap)) {
-			this.anguloPorPlanetaMap = new HashMap<String, Double>();
-		}
-		this.anguloPorPlanetaMap.put(planeta, anguloGrados);
-		this.logger.fine("anguloPorPlaneta agregado");
-	}
-
-	@JsonIgnore
-	public Map<String, Double> getDistanciaEntrePlanetas() {
-		return this.distanciaEntrePlanetasMap;
-	}
-
-	public void putDistanciaEntrePlanetas(String planeta, double distancia) {
-		if (Objects.isNull(this.distanciaEntrePlanetasMap)) {
-			this.distanciaEntrePlanetasMap = new HashMap<String, Double>();
-		}
-		this.distanciaEntrePlanetasMap.put(planeta, distancia);
-		this.logger.fine("distanciaEntrePlanetas agregado");
-	}
-
 	/**
 	 * Obtiene el nivel de precipitación para este día
 	 * 
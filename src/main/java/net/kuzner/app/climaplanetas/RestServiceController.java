@@ -1,60 +1,166 @@
 package net.kuzner.app.climaplanetas;
 
-import java.util.Collection;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 @RestController
 public class RestServiceController {
 
 	@Autowired
-	private SistemaSolar sistemaSolar;
+	private ServicioClima servicioClima;
 
 	@Autowired
-	private Meteorologo meteorologo;
+	private ObjectMapper objectMapper;
+
+	@Value("${escenario.dias.maximo:36525}")
+	private int maximoDiasEscenario;
+
+	@Value("${prediccion.dias.maximo:10000000}")
+	private int maximoDiasPrediccion;
 
-	Map<Integer, Pronostico> pronosticoPorDia = null;
-	Prediccion ultimaPrediccion = null;
+	@Value("${pronosticos.dias.maximo:1000000}")
+	private int maximoDiasPronosticos;
+
+	@Value("${proximo.cuantos.maximo:1000}")
+	private int maximoOcurrencias;
+
+	@Value("${timeline.puntos.maximo:2000}")
+	private int maximoPuntosTimeline;
 
 	@RequestMapping(path = "/prediccion", method = RequestMethod.GET)
 	public Prediccion getPrediccion(@RequestParam(value = "dias", defaultValue = "3652") Integer cuantosDias) {
-		if(Objects.isNull(this.pronosticoPorDia)) {
-			this.pronosticoPorDia = new HashMap<Integer, Pronostico>();
+		if (cuantosDias <= 0 || cuantosDias > this.maximoDiasPrediccion) {
+			throw new IllegalArgumentException(
+					String.format("la cantidad de días debe estar entre 1 y %d", this.maximoDiasPrediccion));
 		}
-		if (this.pronosticoPorDia.isEmpty()) {
-			Collection<Pronostico> pronosticoCollection = meteorologo.obtenerPronosticos(cuantosDias,
-					sistemaSolar.getPlanetaA(), sistemaSolar.getPlanetaB(), sistemaSolar.getPlanetaC());
-			for (Pronostico pronostico : pronosticoCollection) {
-				this.pronosticoPorDia.put(pronostico.getDia(), pronostico);
-			}
-			this.ultimaPrediccion = this.meteorologo.predecirClima(this.pronosticoPorDia.values());
-		}
-		return this.ultimaPrediccion;
+		return this.servicioClima.obtenerPrediccion(cuantosDias);
 	}
 
 	@RequestMapping(path = "/prediccion", method = RequestMethod.DELETE)
 	public void deletePrediccion() {
-		if (Objects.nonNull(this.pronosticoPorDia) && !this.pronosticoPorDia.isEmpty()) {
-			this.pronosticoPorDia.clear();
+		this.servicioClima.descartarPrediccion();
+	}
+
+	/**
+	 * Informa si esta instancia está lista para recibir tráfico, es decir, si ya
+	 * terminó el precálculo de inicio
+	 *
+	 * @return 200 si está lista, 503 si no
+	 */
+	@RequestMapping(path = "/salud", method = RequestMethod.GET)
+	public ResponseEntity<Map<String, String>> getSalud() {
+		boolean listo = this.servicioClima.isListo();
+		Map<String, String> salud = new HashMap<String, String>();
+		salud.put("estado", listo ? "UP" : "DOWN");
+		return new ResponseEntity<Map<String, String>>(salud, listo ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+	@RequestMapping(path = "/clima", method = RequestMethod.GET, produces = CodificadorPronosticos.MEDIA_TYPE)
+	public byte[] getPronosticoBinario(@RequestParam(value = "dia", defaultValue = "0") Integer queDia) {
+		return new CodificadorPronosticos(1).agregar(this.getPronostico(queDia)).toByteArray();
+	}
+
+	@RequestMapping(path = "/pronosticos", method = RequestMethod.GET)
+	public List<Pronostico> getPronosticos(@RequestParam(value = "desde", defaultValue = "0") Integer desde,
+			@RequestParam(value = "hasta", defaultValue = "3651") Integer hasta) {
+		int cuantosDias = this.validarRango(desde, hasta);
+		List<Pronostico> pronosticoList = new ArrayList<Pronostico>(cuantosDias);
+		for (int i = 0; i < cuantosDias; i++) {
+			pronosticoList.add(this.getPronostico(desde + i));
 		}
+		return pronosticoList;
+	}
+
+	@RequestMapping(path = "/pronosticos", method = RequestMethod.GET, produces = CodificadorPronosticos.MEDIA_TYPE)
+	public byte[] getPronosticosBinario(@RequestParam(value = "desde", defaultValue = "0") Integer desde,
+			@RequestParam(value = "hasta", defaultValue = "3651") Integer hasta) {
+		int cuantosDias = this.validarRango(desde, hasta);
+		return this.servicioClima.codificarPronosticos(desde, cuantosDias);
+	}
+
+	private int validarRango(int desde, int hasta) {
+		long cuantosDias = (long) hasta - desde + 1;
+		if (desde < 0 || cuantosDias <= 0 || cuantosDias > this.maximoDiasPronosticos) {
+			throw new IllegalArgumentException(String.format(
+					"el rango de días debe empezar en 0 o más y abarcar entre 1 y %d días", this.maximoDiasPronosticos));
+		}
+		return (int) cuantosDias;
+	}
+
+	@RequestMapping(path = "/clima", method = RequestMethod.GET, params = "detalle=true")
+	public DetallePronostico getDetallePronostico(@RequestParam(value = "dia", defaultValue = "0") Integer queDia) {
+		return this.servicioClima.detallarPronostico(queDia);
 	}
 
 	@RequestMapping(path = "/clima", method = RequestMethod.GET)
 	public Pronostico getPronostico(@RequestParam(value = "dia", defaultValue = "0") Integer queDia) {
-		Pronostico pronosticoDeseado = null;
-		if (Objects.nonNull(this.pronosticoPorDia) && this.pronosticoPorDia.containsKey(queDia)) {
-			pronosticoDeseado = this.pronosticoPorDia.get(queDia);
-		} else {
-			pronosticoDeseado = this.meteorologo.calcularClima(queDia, this.sistemaSolar.getPlanetaA(),
-					this.sistemaSolar.getPlanetaB(), this.sistemaSolar.getPlanetaC());
+		return this.servicioClima.obtenerPronostico(queDia);
+	}
+
+	@RequestMapping(path = "/escenario", method = RequestMethod.POST)
+	public Prediccion postEscenario(@RequestBody Escenario escenario) {
+		Objects.requireNonNull(escenario, "falta el escenario");
+		int cuantosDias = escenario.getDias();
+		if (cuantosDias <= 0 || cuantosDias > this.maximoDiasEscenario) {
+			throw new IllegalArgumentException(
+					String.format("la cantidad de días debe estar entre 1 y %d", this.maximoDiasEscenario));
 		}
-		return pronosticoDeseado;
+		return this.servicioClima.predecirEscenario(escenario);
+	}
+
+	@RequestMapping(path = "/proximo", method = RequestMethod.GET)
+	public Ocurrencias getProximo(@RequestParam(value = "clima") String clima,
+			@RequestParam(value = "desde", defaultValue = "0") Long desde,
+			@RequestParam(value = "cuantos", defaultValue = "1") Integer cuantos) {
+		if (cuantos <= 0 || cuantos > this.maximoOcurrencias) {
+			throw new IllegalArgumentException(
+					String.format("la cantidad de ocurrencias debe estar entre 1 y %d", this.maximoOcurrencias));
+		}
+		IndiceOcurrencias indice = this.servicioClima.obtenerIndiceOcurrencias();
+		return new Ocurrencias(clima, desde, indice.anterior(clima, desde), indice.siguientes(clima, desde, cuantos));
+	}
+
+	@RequestMapping(path = "/timeline", method = RequestMethod.GET)
+	public List<PiramideClima.Tramo> getTimeline(@RequestParam(value = "desde", defaultValue = "0") Long desde,
+			@RequestParam(value = "hasta", defaultValue = "3651") Long hasta,
+			@RequestParam(value = "puntos", defaultValue = "100") Integer puntos) {
+		if (puntos <= 0 || puntos > this.maximoPuntosTimeline) {
+			throw new IllegalArgumentException(
+					String.format("la cantidad de puntos debe estar entre 1 y %d", this.maximoPuntosTimeline));
+		}
+		return this.servicioClima.obtenerPiramideClima().resumirEnTramos(desde, hasta, puntos);
+	}
+
+	@ExceptionHandler(IllegalArgumentException.class)
+	public void handleIllegalArgument(IllegalArgumentException exception, HttpServletResponse response)
+			throws IOException {
+		Map<String, String> error = new HashMap<String, String>();
+		error.put("error", exception.getMessage());
+
+		// se escribe sin negociar el formato: si la petición pidió el formato binario,
+		// ningún conversor puede escribir el error y la respuesta terminaría en 500
+		response.setStatus(HttpStatus.BAD_REQUEST.value());
+		response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+		this.objectMapper.writeValue(response.getOutputStream(), error);
 	}
 }
@@ -0,0 +1,306 @@
+package net.kuzner.app.climaplanetas;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+/**
+ * Calcula y guarda el clima del sistema solar FBV que comparten los servicios
+ * REST y el precálculo de inicio: la predicción vigente, los pronósticos por
+ * día, el índice de ocurrencias y la pirámide de clima
+ *
+ * @author Raul Kuzner
+ */
+@Component
+@Scope(value = ConfigurableBeanFactory.SCOPE_SINGLETON)
+public class ServicioClima {
+
+	private static final int DIAS_POR_TRAMO = 4096;
+
+	private final Logger logger = Logger.getLogger(this.getClass().getName());
+
+	@Autowired
+	private SistemaSolar sistemaSolar;
+
+	@Autowired
+	private Meteorologo meteorologo;
+
+	@Autowired
+	private CacheEfemerides cacheEfemerides;
+
+	@Value("${prediccion.dias.resumen:100000}")
+	private int umbralDiasResumen;
+
+	@Value("${proximo.dias:36525}")
+	private int diasIndiceOcurrencias;
+
+	@Value("${timeline.dias:36525}")
+	private int diasPiramideClima;
+
+	// se reemplazan completos en vez de modificarse, porque /clima los lee sin
+	// sincronizar mientras el precálculo de inicio puede estar escribiéndolos
+	private volatile Map<Integer, Pronostico> pronosticoPorDia = null;
+	private CalculoPrediccion calculoPrediccion = null;
+	private IndiceOcurrencias indiceOcurrencias = null;
+	private PiramideClima piramideClima = null;
+	private volatile boolean listo = false;
+
+	private final Object bloqueoPrediccion = new Object();
+
+	/**
+	 * Obtiene la predicción vigente si es para la cantidad de días pedida; si
+	 * no, calcula una nueva que pasa a ser la vigente
+	 *
+	 * La predicción se calcula fuera del bloqueo: un cálculo largo no demora los
+	 * pedidos de otra cantidad de días, y los pedidos simultáneos de la misma
+	 * cantidad esperan un único cálculo.
+	 *
+	 * @param cuantosDias
+	 *            la cantidad de días de la predicción
+	 * @return la predicción para esa cantidad de días
+	 */
+	public Prediccion obtenerPrediccion(int cuantosDias) {
+		CalculoPrediccion calculo;
+		boolean calcular = false;
+		synchronized (this.bloqueoPrediccion) {
+			// la predicción vigente sólo sirve si es para la misma cantidad de días
+			if (Objects.isNull(this.calculoPrediccion) || this.calculoPrediccion.cuantosDias != cuantosDias) {
+				this.calculoPrediccion = new CalculoPrediccion(cuantosDias);
+				calcular = true;
+			}
+			calculo = this.calculoPrediccion;
+		}
+
+		if (calcular) {
+			calculo.tarea.run();
+		}
+		try {
+			return calculo.tarea.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("se interrumpió el cálculo de la predicción", e);
+		} catch (ExecutionException e) {
+			synchronized (this.bloqueoPrediccion) {
+				if (this.calculoPrediccion == calculo) {
+					this.calculoPrediccion = null;
+				}
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("falló el cálculo de la predicción", e.getCause());
+		}
+	}
+
+	private Prediccion calcularPrediccion(CalculoPrediccion calculo) {
+		int cuantosDias = calculo.cuantosDias;
+		if (cuantosDias > this.umbralDiasResumen) {
+			// demasiados días para guardar cada pronóstico: sólo se calcula el resumen, y
+			// los pronósticos guardados de una predicción anterior siguen siendo válidos
+			Efemerides[] efemerides = this.obtenerEfemeridesHasta(cuantosDias);
+			return this.meteorologo.predecirClima(cuantosDias, efemerides[0], efemerides[1], efemerides[2]);
+		}
+
+		Map<Integer, Pronostico> pronosticos = new HashMap<Integer, Pronostico>();
+		Collection<Pronostico> pronosticoCollection = this.meteorologo.obtenerPronosticos(cuantosDias,
+				this.sistemaSolar.getPlanetaA(), this.sistemaSolar.getPlanetaB(), this.sistemaSolar.getPlanetaC());
+		for (Pronostico pronostico : pronosticoCollection) {
+			pronosticos.put(pronostico.getDia(), pronostico);
+		}
+		synchronized (this.bloqueoPrediccion) {
+			// si mientras tanto se descartó o se pidió otra predicción, no se publican
+			if (this.calculoPrediccion == calculo) {
+				this.pronosticoPorDia = pronosticos;
+			}
+		}
+		return this.meteorologo.predecirClima(pronosticos.values());
+	}
+
+	/**
+	 * Descarta la predicción vigente y los pronósticos guardados
+	 */
+	public void descartarPrediccion() {
+		synchronized (this.bloqueoPrediccion) {
+			this.pronosticoPorDia = null;
+			this.calculoPrediccion = null;
+		}
+	}
+
+	/**
+	 * Obtiene el pronóstico de un día, guardado si es parte de la predicción
+	 * vigente o calculado en el momento
+	 *
+	 * @param queDia
+	 *            el día del pronóstico
+	 * @return el pronóstico de ese día
+	 */
+	public Pronostico obtenerPronostico(int queDia) {
+		Pronostico pronosticoDeseado = null;
+		Map<Integer, Pronostico> pronosticos = this.pronosticoPorDia;
+		if (Objects.nonNull(pronosticos) && pronosticos.containsKey(queDia)) {
+			pronosticoDeseado = pronosticos.get(queDia);
+		} else {
+			pronosticoDeseado = this.meteorologo.calcularClima(queDia, this.sistemaSolar.getPlanetaA(),
+					this.sistemaSolar.getPlanetaB(), this.sistemaSolar.getPlanetaC());
+		}
+		return pronosticoDeseado;
+	}
+
+	/**
+	 * Detalla el pronóstico de un día con los ángulos de cada planeta y las
+	 * distancias entre ellos
+	 *
+	 * @param queDia
+	 *            el día del pronóstico
+	 * @return el detalle del pronóstico de ese día
+	 */
+	public DetallePronostico detallarPronostico(int queDia) {
+		return this.meteorologo.detallarPronostico(this.obtenerPronostico(queDia), this.sistemaSolar.getPlanetaA(),
+				this.sistemaSolar.getPlanetaB(), this.sistemaSolar.getPlanetaC());
+	}
+
+	/**
+	 * Calcula los pronósticos de días consecutivos y los codifica en el formato
+	 * binario de {@link CodificadorPronosticos}
+	 *
+	 * @param desde
+	 *            el primer día a codificar
+	 * @param cuantosDias
+	 *            la cantidad de días a codificar
+	 * @return los pronósticos codificados
+	 */
+	public byte[] codificarPronosticos(int desde, int cuantosDias) {
+		Efemerides[] efemerides = this.obtenerEfemeridesHasta((long) desde + cuantosDias);
+
+		// se calcula por tramos en arreglos primitivos y se codifica directamente,
+		// sin crear un Pronóstico por día
+		CodificadorPronosticos codificador = new CodificadorPronosticos(cuantosDias);
+		byte[] codigos = new byte[Math.min(cuantosDias, DIAS_POR_TRAMO)];
+		double[] precipitaciones = new double[codigos.length];
+		NucleoClimaPorLotes nucleo = new NucleoClimaPorLotes();
+		for (int inicio = 0; inicio < cuantosDias; inicio += codigos.length) {
+			int cuantos = Math.min(codigos.length, cuantosDias - inicio);
+			this.meteorologo.calcularCodigos(desde + inicio, cuantos, efemerides[0], efemerides[1], efemerides[2],
+					codigos, precipitaciones, nucleo);
+			for (int i = 0; i < cuantos; i++) {
+				codificador.agregar(desde + inicio + i, codigos[i], precipitaciones[i]);
+			}
+		}
+		return codificador.toByteArray();
+	}
+
+	private Efemerides[] obtenerEfemeridesHasta(long cuantosDias) {
+		// las Efemérides de los tres planetas deben entrar juntas en la caché; los días
+		// que quedan afuera se calculan sin la serie
+		int diasEfemerides = this.cacheEfemerides.getMaximoDias() / 3;
+		return this.obtenerEfemerides((int) Math.min(cuantosDias, diasEfemerides));
+	}
+
+	private Efemerides[] obtenerEfemerides(int cuantosDias) {
+		return new Efemerides[] { this.cacheEfemerides.obtener(this.sistemaSolar.getPlanetaA(), cuantosDias),
+				this.cacheEfemerides.obtener(this.sistemaSolar.getPlanetaB(), cuantosDias),
+				this.cacheEfemerides.obtener(this.sistemaSolar.getPlanetaC(), cuantosDias) };
+	}
+
+	/**
+	 * Calcula la predicción de un escenario hipotético, compartiendo las
+	 * Efemérides de sus planetas con otros escenarios
+	 *
+	 * @param escenario
+	 *            el escenario a predecir
+	 * @return la predicción del escenario
+	 */
+	public Prediccion predecirEscenario(Escenario escenario) {
+		Objects.requireNonNull(escenario, "falta el escenario");
+		int cuantosDias = escenario.getDias();
+		Efemerides efemeridesA = this.cacheEfemerides.obtener(escenario.getPlanetaA(), cuantosDias);
+		Efemerides efemeridesB = this.cacheEfemerides.obtener(escenario.getPlanetaB(), cuantosDias);
+		Efemerides efemeridesC = this.cacheEfemerides.obtener(escenario.getPlanetaC(), cuantosDias);
+		Collection<Pronostico> pronosticoCollection = this.meteorologo.obtenerPronosticos(cuantosDias, efemeridesA,
+				efemeridesB, efemeridesC);
+		return this.meteorologo.predecirClima(pronosticoCollection);
+	}
+
+	/**
+	 * Obtiene el Índice de ocurrencias, creándolo la primera vez
+	 *
+	 * @return el Índice de ocurrencias del sistema solar FBV
+	 */
+	public synchronized IndiceOcurrencias obtenerIndiceOcurrencias() {
+		if (Objects.isNull(this.indiceOcurrencias)) {
+			Planeta planetaA = this.sistemaSolar.getPlanetaA();
+			Planeta planetaB = this.sistemaSolar.getPlanetaB();
+			Planeta planetaC = this.sistemaSolar.getPlanetaC();
+			// si el sistema solar es periódico alcanza con indexar un período
+			int periodo = this.meteorologo.calcularPeriodo(planetaA, planetaB, planetaC);
+			int cuantosDias = (periodo > 0) ? periodo : this.diasIndiceOcurrencias;
+			this.indiceOcurrencias = new IndiceOcurrencias(
+					this.meteorologo.obtenerPronosticos(cuantosDias, planetaA, planetaB, planetaC), cuantosDias,
+					periodo > 0);
+		}
+		return this.indiceOcurrencias;
+	}
+
+	/**
+	 * Obtiene la Pirámide de clima, creándola la primera vez
+	 *
+	 * @return la Pirámide de clima del sistema solar FBV
+	 */
+	public synchronized PiramideClima obtenerPiramideClima() {
+		if (Objects.isNull(this.piramideClima)) {
+			// si el sistema solar es periódico alcanza con resumir un período
+			int periodo = this.meteorologo.calcularPeriodo(this.sistemaSolar.getPlanetaA(),
+					this.sistemaSolar.getPlanetaB(), this.sistemaSolar.getPlanetaC());
+			int cuantosDias = (periodo > 0) ? periodo : this.diasPiramideClima;
+			Efemerides[] efemerides = this.obtenerEfemerides(cuantosDias);
+			byte[] codigos = new byte[cuantosDias];
+			double[] precipitaciones = new double[cuantosDias];
+			this.meteorologo.calcularCodigos(0, cuantosDias, efemerides[0], efemerides[1], efemerides[2], codigos,
+					precipitaciones);
+			this.piramideClima = new PiramideClima(codigos, precipitaciones, periodo > 0);
+		}
+		return this.piramideClima;
+	}
+
+	/**
+	 * Indica si terminó el precálculo de inicio
+	 *
+	 * @return true si esta instancia está lista para recibir tráfico
+	 */
+	public boolean isListo() {
+		return this.listo;
+	}
+
+	/**
+	 * Marca esta instancia como lista para recibir tráfico
+	 */
+	public void marcarListo() {
+		this.listo = true;
+		this.logger.info("Servicio de clima listo");
+	}
+
+	/**
+	 * Predicción para una cantidad de días, guardada antes de terminar de
+	 * calcularse
+	 */
+	private class CalculoPrediccion {
+
+		private final int cuantosDias;
+		private final FutureTask<Prediccion> tarea;
+
+		private CalculoPrediccion(int cuantosDias) {
+			this.cuantosDias = cuantosDias;
+			this.tarea = new FutureTask<Prediccion>(() -> ServicioClima.this.calcularPrediccion(this));
+		}
+	}
+}
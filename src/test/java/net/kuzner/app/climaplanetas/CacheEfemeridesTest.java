@@ -0,0 +1,77 @@
+package net.kuzner.app.climaplanetas;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Verifica qué Efemérides guarda la caché y cuándo las descarta
+ *
+ * @author Raul Kuzner
+ */
+public class CacheEfemeridesTest {
+
+	@Test
+	public void compartePlanetasConOtroNombreYLaMismaOrbita() {
+		CacheEfemerides cache = new CacheEfemerides(10000);
+		Planeta planeta = new Planeta("A", 500.0, 1.5);
+		Planeta renombrado = new Planeta("B", 500.0, 1.5);
+
+		Efemerides efemerides = cache.obtener(planeta, 1000);
+		Efemerides compartidas = cache.obtener(renombrado, 1000);
+
+		assertEquals(1000, cache.getDiasGuardados());
+		assertTrue(efemerides.getPlaneta() == planeta);
+		assertTrue(compartidas.getPlaneta() == renombrado);
+		for (int queDia = 0; queDia < 1000; queDia++) {
+			assertEquals(efemerides.getAngulo(queDia), compartidas.getAngulo(queDia), 0);
+			assertEquals(efemerides.getCoordenadas(queDia), compartidas.getCoordenadas(queDia));
+		}
+	}
+
+	@Test
+	public void guardaPorSeparadoLasOrbitasDistintas() {
+		CacheEfemerides cache = new CacheEfemerides(10000);
+		cache.obtener(new Planeta("A", 500.0, 1.5), 1000);
+		cache.obtener(new Planeta("A", 500.0, 2.5), 1000);
+		cache.obtener(new Planeta("A", 700.0, 1.5), 1000);
+
+		assertEquals(3000, cache.getDiasGuardados());
+	}
+
+	@Test
+	public void descartaLasMenosUsadasAlSuperarElMaximoDeDias() {
+		CacheEfemerides cache = new CacheEfemerides(2500);
+		Planeta planetaA = new Planeta("A", 500.0, 1.5);
+		Planeta planetaB = new Planeta("B", 500.0, 2.5);
+		Planeta planetaC = new Planeta("C", 500.0, 3.5);
+
+		Efemerides efemeridesA = cache.obtener(planetaA, 1000);
+		cache.obtener(planetaB, 1000);
+		// usar A la vuelve la más reciente, así que al agregar C se descarta B
+		cache.obtener(planetaA, 1000);
+		cache.obtener(planetaC, 1000);
+
+		assertEquals(2000, cache.getDiasGuardados());
+		assertTrue(cache.obtener(planetaA, 1000) == efemeridesA);
+	}
+
+	@Test
+	public void guardaUnaSolaOrbitaDeLosPlanetasPeriodicos() {
+		CacheEfemerides cache = new CacheEfemerides(2500);
+		Efemerides efemerides = cache.obtener(new Planeta("Ferengi", 500.0, -1.0), 100000);
+
+		assertTrue(efemerides.cubre(100000));
+		assertEquals(360, cache.getDiasGuardados());
+	}
+
+	@Test
+	public void noGuardaLasEfemeridesMasLargasQueElMaximo() {
+		CacheEfemerides cache = new CacheEfemerides(2500);
+		Efemerides efemerides = cache.obtener(new Planeta("A", 500.0, 1.5), 3000);
+
+		assertTrue(efemerides.cubre(3000));
+		assertEquals(0, cache.getDiasGuardados());
+	}
+}
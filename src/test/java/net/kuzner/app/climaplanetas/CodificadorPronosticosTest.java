@@ -0,0 +1,97 @@
+package net.kuzner.app.climaplanetas;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Verifica que los pronósticos codificados se decodifican sin cambios y que
+ * se rechazan los bytes que no respetan el formato
+ *
+ * @author Raul Kuzner
+ */
+public class CodificadorPronosticosTest {
+
+	@Test
+	public void decodificaLoQueSeCodifico() {
+		Pronostico lluvia = new Pronostico(72, Clima.LLUVIA.getDescripcion());
+		lluvia.setPrecipitacion(6262.300354242005);
+		CodificadorPronosticos codificador = new CodificadorPronosticos(3);
+		codificador.agregar(new Pronostico(0, Clima.SEQUIA.getDescripcion())).agregar(lluvia)
+				.agregar(Integer.MAX_VALUE, Clima.TEMPERATURA_IDEAL.getCodigo(), 0);
+
+		byte[] bytes = codificador.toByteArray();
+		assertEquals(CodificadorPronosticos.LARGO_ENCABEZADO + 3 * CodificadorPronosticos.LARGO_REGISTRO,
+				bytes.length);
+
+		List<Pronostico> pronosticoList = CodificadorPronosticos.decodificar(bytes);
+		assertEquals(3, pronosticoList.size());
+		this.comparar(0, Clima.SEQUIA, 0, pronosticoList.get(0));
+		this.comparar(72, Clima.LLUVIA, 6262.300354242005, pronosticoList.get(1));
+		this.comparar(Integer.MAX_VALUE, Clima.TEMPERATURA_IDEAL, 0, pronosticoList.get(2));
+	}
+
+	@Test
+	public void decodificaSinPronosticos() {
+		byte[] bytes = new CodificadorPronosticos(0).toByteArray();
+		assertEquals(CodificadorPronosticos.LARGO_ENCABEZADO, bytes.length);
+		assertTrue(CodificadorPronosticos.decodificar(bytes).isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rechazaOtroMagico() {
+		byte[] bytes = this.codificarUno();
+		bytes[0] ^= 1;
+		CodificadorPronosticos.decodificar(bytes);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rechazaOtraVersion() {
+		byte[] bytes = this.codificarUno();
+		bytes[Integer.BYTES] = CodificadorPronosticos.VERSION + 1;
+		CodificadorPronosticos.decodificar(bytes);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rechazaUnaCantidadMayorQueLosRegistros() {
+		byte[] bytes = this.codificarUno();
+		bytes[CodificadorPronosticos.LARGO_ENCABEZADO - 1] = 2;
+		CodificadorPronosticos.decodificar(bytes);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rechazaUnaCantidadNegativa() {
+		byte[] bytes = this.codificarUno();
+		bytes[Integer.BYTES + Byte.BYTES] = (byte) 0x80;
+		CodificadorPronosticos.decodificar(bytes);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rechazaUnEncabezadoIncompleto() {
+		CodificadorPronosticos.decodificar(new byte[CodificadorPronosticos.LARGO_ENCABEZADO - 1]);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rechazaMasPronosticosQueLosAnunciados() {
+		new CodificadorPronosticos(1).agregar(0, Clima.ESTABLE.getCodigo(), 0).agregar(1, Clima.ESTABLE.getCodigo(),
+				0);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rechazaObtenerLosBytesIncompletos() {
+		new CodificadorPronosticos(2).agregar(0, Clima.ESTABLE.getCodigo(), 0).toByteArray();
+	}
+
+	private byte[] codificarUno() {
+		return new CodificadorPronosticos(1).agregar(5, Clima.ESTABLE.getCodigo(), 0).toByteArray();
+	}
+
+	private void comparar(int dia, Clima clima, double precipitacion, Pronostico pronostico) {
+		assertEquals(dia, pronostico.getDia());
+		assertEquals(clima.getDescripcion(), pronostico.getClima());
+		assertEquals(precipitacion, pronostico.getPrecipitacion(), 0);
+	}
+}
@@ -0,0 +1,145 @@
+package net.kuzner.app.climaplanetas;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Compara el Índice de ocurrencias contra una búsqueda día por día sobre los
+ * pronósticos de {@link Meteorologo#calcularClima}
+ *
+ * @author Raul Kuzner
+ */
+public class IndiceOcurrenciasTest {
+
+	private static final int CUANTAS = 3;
+
+	private final Meteorologo meteorologo = new Meteorologo();
+
+	@Test
+	public void coincideConBusquedaDiaPorDiaEnSistemaPeriodico() {
+		SistemaSolar sistemaSolar = new SistemaSolar();
+		Planeta planetaA = sistemaSolar.getPlanetaA();
+		Planeta planetaB = sistemaSolar.getPlanetaB();
+		Planeta planetaC = sistemaSolar.getPlanetaC();
+		int periodo = this.meteorologo.calcularPeriodo(planetaA, planetaB, planetaC);
+		assertEquals(360, periodo);
+
+		IndiceOcurrencias indice = new IndiceOcurrencias(
+				this.meteorologo.obtenerPronosticos(periodo, planetaA, planetaB, planetaC), periodo, true);
+
+		// los días calculados alcanzan para varias ocurrencias después del último desde
+		int ultimoDesde = 5000;
+		Pronostico[] pronosticos = this.calcularPronosticos(ultimoDesde + 4 * periodo, planetaA, planetaB, planetaC);
+		this.compararConBusqueda(indice, pronosticos, periodo, ultimoDesde);
+	}
+
+	@Test
+	public void coincideConBusquedaDiaPorDiaEnSistemaNoPeriodico() {
+		Planeta planetaA = new Planeta("A", 500.0, -1.5);
+		Planeta planetaB = new Planeta("B", 2000.0, 2.25);
+		Planeta planetaC = new Planeta("C", 1000.0, 3.7);
+		int cuantosDias = 2000;
+		assertEquals(0, this.meteorologo.calcularPeriodo(planetaA, planetaB, planetaC));
+
+		IndiceOcurrencias indice = new IndiceOcurrencias(
+				this.meteorologo.obtenerPronosticos(cuantosDias, planetaA, planetaB, planetaC), cuantosDias, false);
+
+		Pronostico[] pronosticos = this.calcularPronosticos(cuantosDias, planetaA, planetaB, planetaC);
+		this.compararConBusqueda(indice, pronosticos, cuantosDias, cuantosDias);
+	}
+
+	@Test
+	public void noRespondeAnteriorFueraDeUnIndiceNoPeriodico() {
+		SistemaSolar sistemaSolar = new SistemaSolar();
+		IndiceOcurrencias indice = new IndiceOcurrencias(this.meteorologo.obtenerPronosticos(100,
+				sistemaSolar.getPlanetaA(), sistemaSolar.getPlanetaB(), sistemaSolar.getPlanetaC()), 100, false);
+
+		assertEquals(Long.valueOf(90), indice.anterior(Clima.SEQUIA.getDescripcion(), 100));
+		assertNull(indice.anterior(Clima.SEQUIA.getDescripcion(), 101));
+		assertNull(indice.anterior(Clima.SEQUIA.getDescripcion(), 1000));
+		assertTrue(indice.siguientes(Clima.SEQUIA.getDescripcion(), 1000, CUANTAS).isEmpty());
+	}
+
+	@Test
+	public void noDesbordaCercaDelMaximoDia() {
+		SistemaSolar sistemaSolar = new SistemaSolar();
+		IndiceOcurrencias indice = new IndiceOcurrencias(this.meteorologo.obtenerPronosticos(360,
+				sistemaSolar.getPlanetaA(), sistemaSolar.getPlanetaB(), sistemaSolar.getPlanetaC()), 360, true);
+
+		long desde = Long.MAX_VALUE - 100;
+		List<Long> ocurrencias = indice.siguientes(Clima.SEQUIA.getDescripcion(), desde, CUANTAS);
+		assertTrue(ocurrencias.size() < CUANTAS);
+		for (Long ocurrencia : ocurrencias) {
+			assertTrue(ocurrencia >= desde);
+		}
+		assertTrue(indice.siguientes(Clima.SEQUIA.getDescripcion(), Long.MAX_VALUE, CUANTAS).isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rechazaUnClimaDesconocido() {
+		SistemaSolar sistemaSolar = new SistemaSolar();
+		IndiceOcurrencias indice = new IndiceOcurrencias(this.meteorologo.obtenerPronosticos(360,
+				sistemaSolar.getPlanetaA(), sistemaSolar.getPlanetaB(), sistemaSolar.getPlanetaC()), 360, true);
+		indice.siguiente("Nieve", 0);
+	}
+
+	private Pronostico[] calcularPronosticos(int cuantosDias, Planeta planetaA, Planeta planetaB, Planeta planetaC) {
+		Pronostico[] pronosticos = new Pronostico[cuantosDias];
+		for (int queDia = 0; queDia < cuantosDias; queDia++) {
+			pronosticos[queDia] = this.meteorologo.calcularClima(queDia, planetaA, planetaB, planetaC);
+		}
+		return pronosticos;
+	}
+
+	/**
+	 * Compara cada desde hasta {@code ultimoDesde} (inclusive) contra una
+	 * búsqueda lineal; los días de máxima precipitación se buscan entre los
+	 * primeros {@code diasIndexados}
+	 */
+	private void compararConBusqueda(IndiceOcurrencias indice, Pronostico[] pronosticos, int diasIndexados,
+			int ultimoDesde) {
+		double maximaPrecipitacion = 0;
+		for (int queDia = 0; queDia < diasIndexados; queDia++) {
+			maximaPrecipitacion = Math.max(maximaPrecipitacion, pronosticos[queDia].getPrecipitacion());
+		}
+
+		List<String> climas = new ArrayList<String>();
+		for (Clima clima : Clima.values()) {
+			climas.add(clima.getDescripcion());
+		}
+		climas.add(IndiceOcurrencias.PICO_LLUVIA);
+
+		for (String clima : climas) {
+			List<Long> dias = new ArrayList<Long>();
+			for (Pronostico pronostico : pronosticos) {
+				boolean ocurre = IndiceOcurrencias.PICO_LLUVIA.equals(clima)
+						? pronostico.getPrecipitacion() == maximaPrecipitacion
+						: pronostico.getClima().equals(clima);
+				if (ocurre) {
+					dias.add((long) pronostico.getDia());
+				}
+			}
+
+			for (long desde = 0; desde <= ultimoDesde; desde++) {
+				List<Long> esperados = new ArrayList<Long>();
+				Long anteriorEsperado = null;
+				for (Long dia : dias) {
+					if (dia < desde) {
+						anteriorEsperado = dia;
+					} else if (esperados.size() < CUANTAS) {
+						esperados.add(dia);
+					}
+				}
+				String mensaje = String.format("clima %s desde %d", clima, desde);
+				assertEquals(mensaje, esperados, indice.siguientes(clima, desde, CUANTAS));
+				assertEquals(mensaje, anteriorEsperado, indice.anterior(clima, desde));
+			}
+		}
+	}
+}
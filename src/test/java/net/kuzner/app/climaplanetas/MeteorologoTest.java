@@ -0,0 +1,67 @@
+package net.kuzner.app.climaplanetas;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+/**
+ * Compara la predicción sin pronósticos de {@link Meteorologo} contra la que
+ * considera día por día los pronósticos de {@link Meteorologo#calcularClima}
+ *
+ * @author Raul Kuzner
+ */
+public class MeteorologoTest {
+
+	private final Meteorologo meteorologo = new Meteorologo();
+
+	@Test
+	public void predicePeriodosCompletosEIncompletosEnElSistemaSolarFBV() {
+		SistemaSolar sistemaSolar = new SistemaSolar();
+		for (int cuantosDias : new int[] { 1, 90, 359, 360, 361, 3652, 100000 }) {
+			this.comparar(cuantosDias, sistemaSolar.getPlanetaA(), sistemaSolar.getPlanetaB(),
+					sistemaSolar.getPlanetaC());
+		}
+	}
+
+	@Test
+	public void prediceUnSistemaPeriodicoDeOtroPeriodo() {
+		this.comparar(50000, new Planeta("A", 700.0, 2.0), new Planeta("B", 1500.0, -7.0),
+				new Planeta("C", 300.0, 11.0));
+	}
+
+	@Test
+	public void prediceUnSistemaNoPeriodicoPorTramos() {
+		// más días que un tramo, y que las Efemérides, para calcular el resto sin la
+		// serie
+		this.comparar(20000, new Planeta("A", 500.0, -1.5), new Planeta("B", 2000.0, 2.25),
+				new Planeta("C", 1000.0, 3.7));
+	}
+
+	@Test
+	public void prediceIgualSinElCalculoPorLotes() {
+		this.meteorologo.setNucleoPorLotesHabilitado(false);
+		SistemaSolar sistemaSolar = new SistemaSolar();
+		this.comparar(3652, sistemaSolar.getPlanetaA(), sistemaSolar.getPlanetaB(), sistemaSolar.getPlanetaC());
+		this.comparar(5000, new Planeta("A", 500.0, -1.5), new Planeta("B", 2000.0, 2.25),
+				new Planeta("C", 1000.0, 3.7));
+	}
+
+	private void comparar(int cuantosDias, Planeta planetaA, Planeta planetaB, Planeta planetaC) {
+		Prediccion esperada = new Prediccion();
+		for (int queDia = 0; queDia < cuantosDias; queDia++) {
+			esperada.considerar(this.meteorologo.calcularClima(queDia, planetaA, planetaB, planetaC));
+		}
+
+		int diasEfemerides = Math.max(1, cuantosDias / 2);
+		Prediccion prediccion = this.meteorologo.predecirClima(cuantosDias, new Efemerides(planetaA, diasEfemerides),
+				new Efemerides(planetaB, diasEfemerides), new Efemerides(planetaC, diasEfemerides));
+
+		String mensaje = String.format("%d días", cuantosDias);
+		assertEquals(mensaje, esperada.getTotalPeriodos(), prediccion.getTotalPeriodos());
+		assertEquals(mensaje, esperada.getPeriodosPorClima(), prediccion.getPeriodosPorClima());
+		assertEquals(mensaje, new ArrayList<Integer>(esperada.getDiasMaximaPrecip()),
+				new ArrayList<Integer>(prediccion.getDiasMaximaPrecip()));
+	}
+}
@@ -0,0 +1,75 @@
+package net.kuzner.app.climaplanetas;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Compara el cálculo por lotes contra el cálculo día por día de
+ * {@link Meteorologo#calcularClima}, que debe dar exactamente el mismo
+ * resultado
+ *
+ * @author Raul Kuzner
+ */
+public class NucleoClimaPorLotesTest {
+
+	private static final int CUANTOS_DIAS = 50000;
+
+	private final Meteorologo meteorologo = new Meteorologo();
+
+	@Test
+	public void coincideEnElSistemaSolarFBV() {
+		SistemaSolar sistemaSolar = new SistemaSolar();
+		this.comparar(sistemaSolar.getPlanetaA(), sistemaSolar.getPlanetaB(), sistemaSolar.getPlanetaC());
+	}
+
+	@Test
+	public void coincideEnUnSistemaPeriodico() {
+		this.comparar(new Planeta("A", 700.0, 2.0), new Planeta("B", 1500.0, -7.0), new Planeta("C", 300.0, 11.0));
+	}
+
+	@Test
+	public void coincideEnUnSistemaNoPeriodico() {
+		this.comparar(new Planeta("A", 500.0, -1.5), new Planeta("B", 2000.0, 2.25), new Planeta("C", 1000.0, 3.7));
+	}
+
+	@Test
+	public void coincideEnUnSistemaConUnSoloPlanetaNoPeriodico() {
+		this.comparar(new Planeta("A", 500.0, -1.0), new Planeta("B", 2000.0, 0.3), new Planeta("C", 1000.0, 5.0));
+	}
+
+	@Test
+	public void coincideEnUnRangoQueNoEmpiezaEnCero() {
+		Planeta planetaA = new Planeta("A", 500.0, -1.5);
+		Planeta planetaB = new Planeta("B", 2000.0, 2.25);
+		Planeta planetaC = new Planeta("C", 1000.0, 3.7);
+		this.comparar(12345, 777, new Efemerides(planetaA, 12500), new Efemerides(planetaB, 12500),
+				new Efemerides(planetaC, 12500));
+	}
+
+	/**
+	 * Compara todos los días, con Efemérides que cubren sólo la mitad para que
+	 * los planetas no periódicos calculen el resto sin la serie
+	 */
+	private void comparar(Planeta planetaA, Planeta planetaB, Planeta planetaC) {
+		this.comparar(0, CUANTOS_DIAS, new Efemerides(planetaA, CUANTOS_DIAS / 2),
+				new Efemerides(planetaB, CUANTOS_DIAS / 2), new Efemerides(planetaC, CUANTOS_DIAS / 2));
+	}
+
+	private void comparar(int desde, int cuantos, Efemerides efemeridesA, Efemerides efemeridesB,
+			Efemerides efemeridesC) {
+		byte[] codigos = new byte[cuantos];
+		double[] precipitaciones = new double[cuantos];
+		new NucleoClimaPorLotes().calcular(desde, cuantos, efemeridesA, efemeridesB, efemeridesC, codigos,
+				precipitaciones);
+
+		for (int i = 0; i < cuantos; i++) {
+			int queDia = desde + i;
+			Pronostico pronostico = this.meteorologo.calcularClima(queDia, efemeridesA.getPlaneta(),
+					efemeridesB.getPlaneta(), efemeridesC.getPlaneta());
+			String mensaje = String.format("día %d", queDia);
+			assertEquals(mensaje, Clima.desdeDescripcion(pronostico.getClima()).getCodigo(), codigos[i]);
+			assertEquals(mensaje, pronostico.getPrecipitacion(), precipitaciones[i], 0);
+		}
+	}
+}
@@ -0,0 +1,178 @@
+package net.kuzner.app.climaplanetas;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Compara los resúmenes de la Pirámide de clima contra un recorrido día por
+ * día de rangos al azar
+ *
+ * @author Raul Kuzner
+ */
+public class PiramideClimaTest {
+
+	private static final int CUANTOS_RANGOS = 20000;
+
+	private final Random random = new Random(3652);
+
+	@Test
+	public void coincideConRecorridoEnElSistemaSolarFBV() {
+		SistemaSolar sistemaSolar = new SistemaSolar();
+		Meteorologo meteorologo = new Meteorologo();
+		int periodo = meteorologo.calcularPeriodo(sistemaSolar.getPlanetaA(), sistemaSolar.getPlanetaB(),
+				sistemaSolar.getPlanetaC());
+		byte[] codigos = new byte[periodo];
+		double[] precipitaciones = new double[periodo];
+		meteorologo.calcularCodigos(0, periodo, new Efemerides(sistemaSolar.getPlanetaA(), periodo),
+				new Efemerides(sistemaSolar.getPlanetaB(), periodo), new Efemerides(sistemaSolar.getPlanetaC(), periodo),
+				codigos, precipitaciones);
+
+		// los rangos largos abarcan varios períodos y repiten los días de máxima
+		// precipitación, de los cuales se debe informar el primero
+		this.comparar(new PiramideClima(codigos, precipitaciones, true), codigos, precipitaciones, 20000, 3000);
+	}
+
+	@Test
+	public void coincideConRecorridoEnUnaPiramidePeriodicaConEmpates() {
+		byte[] codigos = this.codigosAlAzar(37);
+		double[] precipitaciones = this.precipitacionesConEmpates(37);
+		this.comparar(new PiramideClima(codigos, precipitaciones, true), codigos, precipitaciones, 1000, 200);
+	}
+
+	@Test
+	public void coincideConRecorridoEnUnaPiramideNoPeriodicaConEmpates() {
+		for (int cuantosDias : new int[] { 1, 2, 3, 1000, 1025 }) {
+			byte[] codigos = this.codigosAlAzar(cuantosDias);
+			double[] precipitaciones = this.precipitacionesConEmpates(cuantosDias);
+			PiramideClima piramide = new PiramideClima(codigos, precipitaciones, false);
+			for (int i = 0; i < CUANTOS_RANGOS / 5; i++) {
+				long desde = this.random.nextInt(cuantosDias);
+				long hasta = desde + this.random.nextInt((int) (cuantosDias - desde));
+				this.compararRango(piramide, codigos, precipitaciones, desde, hasta);
+			}
+		}
+	}
+
+	@Test
+	public void coincideEnUnRangoDeMuchosPeriodos() {
+		byte[] codigos = this.codigosAlAzar(37);
+		double[] precipitaciones = this.precipitacionesConEmpates(37);
+		PiramideClima piramide = new PiramideClima(codigos, precipitaciones, true);
+		long periodos = 1000000000L;
+		PiramideClima.Tramo tramo = piramide.resumir(5, 37 * periodos + 4);
+		PiramideClima.Tramo unPeriodo = piramide.resumir(5, 41);
+		for (Clima clima : Clima.values()) {
+			assertEquals(unPeriodo.getCantidad(clima) * periodos, tramo.getCantidad(clima));
+		}
+		assertEquals(unPeriodo.getDiaMaximaPrecipitacion(), tramo.getDiaMaximaPrecipitacion());
+	}
+
+	@Test
+	public void divideEnTramosSinDesbordarCercaDelMaximoDia() {
+		PiramideClima piramide = new PiramideClima(this.codigosAlAzar(37), this.precipitacionesConEmpates(37), true);
+		this.compararTramos(piramide, 0, Long.MAX_VALUE - 1, 100);
+		this.compararTramos(piramide, Long.MAX_VALUE - 1000, Long.MAX_VALUE - 1, 7);
+		this.compararTramos(piramide, 1, Long.MAX_VALUE - 1, 2000);
+	}
+
+	@Test
+	public void divideEnTramosRangosCortosYExactos() {
+		PiramideClima piramide = new PiramideClima(this.codigosAlAzar(1000), this.precipitacionesConEmpates(1000),
+				false);
+		this.compararTramos(piramide, 0, 2, 100);
+		this.compararTramos(piramide, 10, 109, 10);
+		this.compararTramos(piramide, 5, 999, 7);
+		this.compararTramos(piramide, 0, 999, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rechazaDiasFueraDeUnaPiramideNoPeriodica() {
+		new PiramideClima(this.codigosAlAzar(100), this.precipitacionesConEmpates(100), false).resumir(50, 100);
+	}
+
+	private void comparar(PiramideClima piramide, byte[] codigos, double[] precipitaciones, int maximoDesde,
+			int maximoLargo) {
+		for (int i = 0; i < CUANTOS_RANGOS; i++) {
+			long desde = this.random.nextInt(maximoDesde);
+			long hasta = desde + this.random.nextInt(maximoLargo);
+			this.compararRango(piramide, codigos, precipitaciones, desde, hasta);
+		}
+	}
+
+	private void compararRango(PiramideClima piramide, byte[] codigos, double[] precipitaciones, long desde,
+			long hasta) {
+		long[] cantidades = new long[Clima.values().length];
+		double maximaPrecipitacion = 0;
+		Long diaMaximaPrecipitacion = null;
+		for (long queDia = desde; queDia <= hasta; queDia++) {
+			int indice = (int) (queDia % codigos.length);
+			cantidades[Clima.desdeCodigo(codigos[indice]).ordinal()]++;
+			if (precipitaciones[indice] > maximaPrecipitacion) {
+				maximaPrecipitacion = precipitaciones[indice];
+				diaMaximaPrecipitacion = queDia;
+			}
+		}
+
+		PiramideClima.Tramo tramo = piramide.resumir(desde, hasta);
+		String mensaje = String.format("rango %d-%d", desde, hasta);
+		assertEquals(mensaje, desde, tramo.getDesde());
+		assertEquals(mensaje, hasta, tramo.getHasta());
+		for (Clima clima : Clima.values()) {
+			assertEquals(mensaje, cantidades[clima.ordinal()], tramo.getCantidad(clima));
+		}
+		assertEquals(mensaje, maximaPrecipitacion, tramo.getMaximaPrecipitacion(), 0);
+		assertEquals(mensaje, diaMaximaPrecipitacion, tramo.getDiaMaximaPrecipitacion());
+	}
+
+	/**
+	 * Verifica que los tramos cubren el rango sin huecos, con el mismo ancho
+	 * salvo quizás el último, y que cada uno cuenta todos sus días
+	 */
+	private void compararTramos(PiramideClima piramide, long desde, long hasta, int cuantosTramos) {
+		List<PiramideClima.Tramo> tramoList = piramide.resumirEnTramos(desde, hasta, cuantosTramos);
+		String mensaje = String.format("rango %d-%d en %d tramos", desde, hasta, cuantosTramos);
+		assertTrue(mensaje, !tramoList.isEmpty() && tramoList.size() <= cuantosTramos);
+
+		long ancho = tramoList.get(0).getHasta() - tramoList.get(0).getDesde() + 1;
+		long siguiente = desde;
+		for (int i = 0; i < tramoList.size(); i++) {
+			PiramideClima.Tramo tramo = tramoList.get(i);
+			long largo = tramo.getHasta() - tramo.getDesde() + 1;
+			assertEquals(mensaje, siguiente, tramo.getDesde());
+			assertTrue(mensaje, largo > 0 && (largo == ancho || (i == tramoList.size() - 1 && largo < ancho)));
+			long cantidad = 0;
+			for (Clima clima : Clima.values()) {
+				cantidad += tramo.getCantidad(clima);
+			}
+			assertEquals(mensaje, largo, cantidad);
+			siguiente = tramo.getHasta() + 1;
+		}
+		assertEquals(mensaje, hasta, tramoList.get(tramoList.size() - 1).getHasta());
+	}
+
+	private byte[] codigosAlAzar(int cuantosDias) {
+		Clima[] climas = Clima.values();
+		byte[] codigos = new byte[cuantosDias];
+		for (int i = 0; i < cuantosDias; i++) {
+			codigos[i] = climas[this.random.nextInt(climas.length)].getCodigo();
+		}
+		return codigos;
+	}
+
+	/**
+	 * Precipitaciones con pocos valores distintos, para que haya varios días con
+	 * la máxima precipitación
+	 */
+	private double[] precipitacionesConEmpates(int cuantosDias) {
+		double[] precipitaciones = new double[cuantosDias];
+		for (int i = 0; i < cuantosDias; i++) {
+			precipitaciones[i] = this.random.nextInt(4) * 1.5;
+		}
+		return precipitaciones;
+	}
+}